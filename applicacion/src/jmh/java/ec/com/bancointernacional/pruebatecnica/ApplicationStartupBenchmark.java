@@ -0,0 +1,56 @@
+package ec.com.bancointernacional.pruebatecnica;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo desde el inicio del contexto de Spring hasta la primera respuesta de {@code GET /api/customers}
+ * con la configuración por defecto frente al perfil {@code fast-startup}, sobre una base H2 nueva.
+ *
+ * <p>
+ * Cada fork es una JVM nueva que mide un único arranque, por lo que el resultado incluye la carga de
+ * clases pero no el arranque de la JVM ni el efecto de AppCDS o AOT, que dependen del artefacto
+ * empaquetado (ver la guía de despliegue). El perfil por defecto incluye la validación de Flyway y la
+ * carga de datos de prueba, que {@code fast-startup} omite.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class ApplicationStartupBenchmark {
+
+    @Param({"default", "fast-startup"})
+    public String profile;
+
+    @Benchmark
+    public int startAndServeFirstRequest() throws IOException, InterruptedException {
+        var application = new SpringApplication(BancoInternacionalPruebaTecnicaApplication.class);
+        application.setAdditionalProfiles(profile.equals("default") ? new String[0] : new String[]{profile});
+
+        try (var context = application.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "--spring.datasource.driverClassName=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+        )) {
+            var port = context.getEnvironment().getRequiredProperty("local.server.port");
+            try (var client = HttpClient.newHttpClient()) {
+                var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/customers?size=1")).build();
+                return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            }
+        }
+    }
+}
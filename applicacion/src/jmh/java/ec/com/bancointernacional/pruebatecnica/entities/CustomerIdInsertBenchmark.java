@@ -0,0 +1,77 @@
+package ec.com.bancointernacional.pruebatecnica.entities;
+
+import org.hibernate.id.uuid.StandardRandomStrategy;
+import org.hibernate.id.uuid.UuidValueGenerator;
+import org.hibernate.id.uuid.UuidVersion7Strategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserción por lotes en una tabla con clave primaria UUID que crece durante toda la ejecución,
+ * con identificadores aleatorios (v4) frente a identificadores ordenados por tiempo (v7, como
+ * los que genera {@link Customer}). Ambos se generan con las estrategias de Hibernate que usa
+ * {@code @UuidGenerator}, por lo que se mide el mismo generador que usa la aplicación.
+ *
+ * <p>
+ * Por defecto usa H2; para medir contra PostgreSQL se puede ejecutar el benchmark indicando
+ * {@code -p url=jdbc:postgresql://localhost:5432/<base>?user=...&password=...}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerIdInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"v4", "v7"})
+    public String version;
+
+    @Param({"jdbc:h2:mem:uuid-benchmark;MODE=PostgreSQL"})
+    public String url;
+
+    private Connection connection;
+    private UuidValueGenerator generator;
+
+    @Setup
+    public void setUp() throws SQLException {
+        // Las mismas estrategias que usa Hibernate para @UuidGenerator(style = RANDOM) y (style = VERSION_7)
+        generator = version.equals("v7") ? UuidVersion7Strategy.INSTANCE : StandardRandomStrategy.INSTANCE;
+        connection = DriverManager.getConnection(url);
+        try (var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS customer_id_benchmark");
+            statement.execute("CREATE TABLE customer_id_benchmark (id UUID NOT NULL PRIMARY KEY, name VARCHAR(255) NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("DROP TABLE customer_id_benchmark");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        try (var statement = connection.prepareStatement("INSERT INTO customer_id_benchmark (id, name) VALUES (?, ?)")) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                statement.setObject(1, generator.generateUuid(null));
+                statement.setString(2, "Cliente");
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        connection.commit();
+    }
+}
@@ -0,0 +1,78 @@
+package ec.com.bancointernacional.pruebatecnica.mappers;
+
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerNumberCipherProperties;
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerResponse;
+import ec.com.bancointernacional.pruebatecnica.entities.Account;
+import ec.com.bancointernacional.pruebatecnica.entities.Customer;
+import ec.com.bancointernacional.pruebatecnica.entities.LazyDecryptedString;
+import ec.com.bancointernacional.pruebatecnica.schemas.AccountStatus;
+import ec.com.bancointernacional.pruebatecnica.schemas.AccountType;
+import ec.com.bancointernacional.pruebatecnica.schemas.IdentificationType;
+import ec.com.bancointernacional.pruebatecnica.services.CustomerNumberCipher;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de mapear una página de clientes recién cargados según los campos solicitados: con
+ * {@code number} se descifra cada valor, sin él el descifrado diferido no se ejecuta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerMapperBenchmark {
+
+    private static final int PAGE_SIZE = 200;
+
+    @Param({"name,account.number", "name,number,account.number"})
+    public String fields;
+
+    @Param({"AES", "AES/GCM/NoPadding"})
+    public String algorithm;
+
+    private CustomerNumberCipher cipher;
+    private CustomerFieldSelection selection;
+    private String[] cipherTexts;
+
+    @Setup
+    public void setUp() {
+        var properties = new CustomerNumberCipherProperties();
+        properties.setKey("1234567890123456");
+        properties.setAlgorithm(algorithm);
+        cipher = new CustomerNumberCipher(properties);
+        selection = CustomerFieldSelection.parse(fields);
+
+        cipherTexts = new String[PAGE_SIZE];
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            cipherTexts[i] = cipher.cipher(String.valueOf(100_000 + i));
+        }
+    }
+
+    @Benchmark
+    public List<CustomerResponse> mapPage() {
+        var page = new ArrayList<CustomerResponse>(PAGE_SIZE);
+        for (var cipherText : cipherTexts) {
+            // Como al cargar desde la base: cada entidad trae su propio valor pendiente de descifrar
+            var customer = Customer.builder()
+                    .name("Cliente")
+                    .number(LazyDecryptedString.ofCipherText(cipherText, cipher::decipher))
+                    .identificationType(IdentificationType.CI)
+                    .identificationNumber("2300826357")
+                    .account(Account.builder()
+                            .number("100000000001")
+                            .balance(BigDecimal.TEN)
+                            .type(AccountType.SAVINGS)
+                            .status(AccountStatus.ACTIVE)
+                            .build())
+                    .build();
+            page.add(CustomerMapper.toResponse(customer, selection));
+        }
+        return page;
+    }
+}
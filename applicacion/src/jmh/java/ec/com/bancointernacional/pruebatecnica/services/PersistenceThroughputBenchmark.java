@@ -0,0 +1,140 @@
+package ec.com.bancointernacional.pruebatecnica.services;
+
+import ec.com.bancointernacional.pruebatecnica.BancoInternacionalPruebaTecnicaApplication;
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerBatchLookupResponse;
+import ec.com.bancointernacional.pruebatecnica.entities.CustomerFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creación de clientes en una transacción, obtención del número de cliente y consulta por lote de números
+ * de identificación sin ajustes de persistencia, con cada valor de {@code application-high-throughput.properties}
+ * por separado y con el perfil completo.
+ *
+ * <p>
+ * Por defecto usa una base H2 nueva en cada ejecución, donde los valores de PgJDBC ({@code reWriteBatchedInserts},
+ * {@code prepareThreshold} y la caché de sentencias preparadas) no tienen efecto; para medir contra PostgreSQL se
+ * puede ejecutar el benchmark indicando
+ * {@code -p url=jdbc:postgresql://localhost:5432/<base> -p username=... -p password=...}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceThroughputBenchmark {
+
+    private static final int CUSTOMERS_PER_TRANSACTION = 50;
+    private static final int LOOKUP_MAX_SIZE = 100;
+
+    @Param({
+            "none", "batching", "in-clause-padding", "plan-cache", "rewrite-batched-inserts", "prepare-threshold",
+            "prepared-statement-cache", "high-throughput"
+    })
+    public String settings;
+
+    @Param({""})
+    public String url;
+
+    @Param({"sa"})
+    public String username;
+
+    @Param({""})
+    public String password;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private TransactionTemplate transactionTemplate;
+    private List<String> identificationNumbers;
+
+    @Setup
+    public void setUp() {
+        var arguments = new ArrayList<>(List.of(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=" + (url.isEmpty() ? "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL" : url),
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                "--customer.seed.enabled=false",
+                "--customer.outbox.relay-enabled=false",
+                "--customer.lookup.negative-filter.refresh-interval=PT1H"
+        ));
+        var application = new SpringApplication(BancoInternacionalPruebaTecnicaApplication.class);
+        switch (settings) {
+            case "none" -> {
+            }
+            case "batching" -> arguments.addAll(List.of(
+                    "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                    "--spring.jpa.properties.hibernate.order_inserts=true"
+            ));
+            case "in-clause-padding" -> arguments.add("--spring.jpa.properties.hibernate.query.in_clause_parameter_padding=true");
+            case "plan-cache" -> arguments.add("--spring.jpa.properties.hibernate.query.plan_cache_max_size=4096");
+            // Sin lotes de Hibernate no hay lotes que reescribir
+            case "rewrite-batched-inserts" -> arguments.addAll(List.of(
+                    "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                    "--spring.jpa.properties.hibernate.order_inserts=true",
+                    "--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=true"
+            ));
+            case "prepare-threshold" -> arguments.add("--spring.datasource.hikari.data-source-properties.prepareThreshold=1");
+            case "prepared-statement-cache" -> arguments.addAll(List.of(
+                    "--spring.datasource.hikari.data-source-properties.preparedStatementCacheQueries=512",
+                    "--spring.datasource.hikari.data-source-properties.preparedStatementCacheSizeMiB=10"
+            ));
+            case "high-throughput" -> application.setAdditionalProfiles(settings);
+            default -> throw new IllegalArgumentException("Ajustes desconocidos: " + settings);
+        }
+        context = application.run(arguments.toArray(String[]::new));
+        customerService = context.getBean(CustomerService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        identificationNumbers = new ArrayList<>(LOOKUP_MAX_SIZE * 10);
+        for (int i = 0; i < LOOKUP_MAX_SIZE * 10; i++) {
+            identificationNumbers.add(customerService.create(CustomerFixtures.newCustomer("Cliente Benchmark")).getIdentificationNumber());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CUSTOMERS_PER_TRANSACTION)
+    public void createCustomers() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < CUSTOMERS_PER_TRANSACTION; i++) {
+                customerService.create(CustomerFixtures.newCustomer("Cliente Benchmark"));
+            }
+        });
+    }
+
+    /**
+     * Obtención del siguiente número de cliente, una consulta idéntica en cada invocación.
+     */
+    @Benchmark
+    public long nextCustomerNumber() {
+        return customerService.nextCustomerNumber();
+    }
+
+    /**
+     * Consulta por lote con una cantidad de números distinta en cada invocación, como llegan desde los canales.
+     */
+    @Benchmark
+    public CustomerBatchLookupResponse batchLookup() {
+        var random = ThreadLocalRandom.current();
+        var size = random.nextInt(1, LOOKUP_MAX_SIZE + 1);
+        var from = random.nextInt(identificationNumbers.size() - size + 1);
+        return customerService.getByIdentificationNumbers(identificationNumbers.subList(from, from + size), "identificationNumber");
+    }
+}
@@ -0,0 +1,44 @@
+package ec.com.bancointernacional.pruebatecnica.utils;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de cifrar y descifrar un número de cliente en ECB frente a GCM con el identificador de la
+ * versión de clave como dato asociado, tal como lo usa {@code CustomerNumberCipher}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CipherStringUtilsBenchmark {
+
+    private static final byte[] KEY_ID = "v2".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"AES", "AES/GCM/NoPadding"})
+    public String algorithm;
+
+    private SecretKey key;
+    private String cipherText;
+
+    @Setup
+    public void setUp() {
+        key = CipherStringUtils.secretKey("12345678901234567890123456789012", algorithm);
+        cipherText = CipherStringUtils.cipher("100001", key, algorithm, KEY_ID);
+    }
+
+    @Benchmark
+    public String cipher() {
+        return CipherStringUtils.cipher("100001", key, algorithm, KEY_ID);
+    }
+
+    @Benchmark
+    public String decipher() {
+        return CipherStringUtils.decipher(cipherText, key, algorithm, KEY_ID);
+    }
+}
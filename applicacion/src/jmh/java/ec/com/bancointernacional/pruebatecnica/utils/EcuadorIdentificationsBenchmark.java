@@ -0,0 +1,84 @@
+package ec.com.bancointernacional.pruebatecnica.utils;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validación y generación de documentos de identificación frente a implementaciones de referencia
+ * basadas en subcadenas, {@code String.format} y {@code StringBuilder}, como las que se usaban antes
+ * de {@link EcuadorIdentifications}. Ejecutar con {@code -prof gc} para comparar también las asignaciones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EcuadorIdentificationsBenchmark {
+
+    private static final int VALUES = 1024;
+
+    private String[] rucs;
+
+    @Setup
+    public void setUp() {
+        rucs = new String[VALUES];
+        for (int i = 0; i < VALUES; i++) {
+            rucs[i] = EcuadorIdGenerator.generateRucPersonaNatural();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void validateRuc(Blackhole blackhole) {
+        for (var ruc : rucs) {
+            blackhole.consume(EcuadorIdentifications.isValidRuc(ruc));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VALUES)
+    public void validateRucWithSubstrings(Blackhole blackhole) {
+        for (var ruc : rucs) {
+            var ciPart = ruc.substring(0, ruc.length() - 3);
+            var establishment = ruc.substring(ruc.length() - 3);
+            blackhole.consume(isValidCiWithSubstrings(ciPart) && establishment.equals("001"));
+        }
+    }
+
+    @Benchmark
+    public String generateCedula() {
+        return EcuadorIdGenerator.generateCedula();
+    }
+
+    @Benchmark
+    public String generateCedulaWithStringBuilder() {
+        var random = ThreadLocalRandom.current();
+        var sb = new StringBuilder(String.format("%02d%d", random.nextInt(1, 25), random.nextInt(0, 6)));
+        for (int i = 0; i < 6; i++) {
+            sb.append(random.nextInt(0, 10));
+        }
+        var sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += EcuadorIdentifications.ciWeightedDigit(i, sb.charAt(i) - '0');
+        }
+        sb.append(EcuadorIdentifications.mod10CheckDigit(sum));
+        return sb.toString();
+    }
+
+    private static boolean isValidCiWithSubstrings(String value) {
+        if (value.length() != 10 || !value.chars().allMatch(Character::isDigit)) return false;
+        var province = Integer.parseInt(value.substring(0, 2));
+        var thirdDigit = Integer.parseInt(value.substring(2, 3));
+        if (!EcuadorIdentifications.isValidProvince(province) || thirdDigit > 5) return false;
+
+        var sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += EcuadorIdentifications.ciWeightedDigit(i, Integer.parseInt(value.substring(i, i + 1)));
+        }
+        return Integer.parseInt(value.substring(9)) == EcuadorIdentifications.mod10CheckDigit(sum);
+    }
+}
@@ -0,0 +1,59 @@
+-- Carga de lectura para comparar la aplicación principal (MVC/JPA) con la variante reactiva (WebFlux/R2DBC).
+-- 80 % consultas por número de identificación y 20 % páginas de la búsqueda, con los números leídos del
+-- archivo indicado en LOAD_IDENTIFICATION_NUMBERS (uno por línea).
+
+local numbers = {}
+for line in io.lines(os.getenv("LOAD_IDENTIFICATION_NUMBERS")) do
+    if #line > 0 then
+        numbers[#numbers + 1] = line
+    end
+end
+if #numbers == 0 then
+    error("No hay números de identificación en " .. os.getenv("LOAD_IDENTIFICATION_NUMBERS"))
+end
+
+local threads = {}
+
+function setup(thread)
+    threads[#threads + 1] = thread
+    thread:set("id", #threads)
+end
+
+function init(args)
+    math.randomseed(os.time() * 1000 + id)
+    non2xx = 0
+end
+
+function request()
+    if math.random() < 0.8 then
+        return wrk.format("GET", "/api/customers/identification/" .. numbers[math.random(#numbers)])
+    end
+    return wrk.format("GET", "/api/customers?size=20&page=" .. math.random(0, 9))
+end
+
+function response(status, headers, body)
+    if status >= 300 then
+        non2xx = non2xx + 1
+    end
+end
+
+-- Una línea por ejecución, leída por reactive-vs-mvc.sh:
+-- RESULT,solicitudes,solicitudes/s,p50 ms,p90 ms,p99 ms,máx ms,errores de socket,respuestas no 2xx
+function done(summary, latency, requests)
+    local non2xxTotal = 0
+    for _, thread in ipairs(threads) do
+        non2xxTotal = non2xxTotal + thread:get("non2xx")
+    end
+    local errors = summary.errors.connect + summary.errors.read + summary.errors.write + summary.errors.timeout
+    io.write(string.format(
+            "RESULT,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%d,%d\n",
+            summary.requests,
+            summary.requests / (summary.duration / 1e6),
+            latency:percentile(50) / 1e3,
+            latency:percentile(90) / 1e3,
+            latency:percentile(99) / 1e3,
+            latency.max / 1e3,
+            errors,
+            non2xxTotal
+    ))
+end
@@ -0,0 +1,95 @@
+#!/usr/bin/env bash
+#
+# Compara la aplicación principal (MVC/JPA) con la variante reactiva (WebFlux/R2DBC) con la misma carga de
+# lectura y la misma cantidad de conexiones concurrentes, usando wrk (https://github.com/wg/wrk).
+#
+# Ambas aplicaciones deben estar levantadas contra la misma base de datos. Uso:
+#
+#   MVC_PID=<pid> REACTIVE_PID=<pid> src/load/reactive-vs-mvc.sh [url-mvc] [url-reactiva]
+#
+# Variables: CONNECTIONS (10000), THREADS (núcleos disponibles), DURATION (60s), WARMUP (15s),
+# MVC_PID y REACTIVE_PID (opcionales, para registrar hilos y memoria residente de cada proceso).
+# Los resultados se agregan a target/load/reactive-vs-mvc.md.
+
+set -euo pipefail
+
+MVC_URL="${1:-http://localhost:8080}"
+REACTIVE_URL="${2:-http://localhost:8081}"
+CONNECTIONS="${CONNECTIONS:-10000}"
+THREADS="${THREADS:-$(nproc)}"
+DURATION="${DURATION:-60s}"
+WARMUP="${WARMUP:-15s}"
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+OUTPUT_DIR="${SCRIPT_DIR}/../../target/load"
+RESULTS="${OUTPUT_DIR}/reactive-vs-mvc.md"
+export LOAD_IDENTIFICATION_NUMBERS="${OUTPUT_DIR}/identification-numbers.txt"
+
+command -v wrk >/dev/null || { echo "wrk no está instalado" >&2; exit 1; }
+if [ "$(ulimit -n)" != "unlimited" ] && [ "$(ulimit -n)" -le "${CONNECTIONS}" ]; then
+    echo "El límite de archivos abiertos ($(ulimit -n)) no alcanza para ${CONNECTIONS} conexiones; usar ulimit -n" >&2
+    exit 1
+fi
+
+mkdir -p "${OUTPUT_DIR}"
+
+# Números de identificación existentes, leídos de la aplicación principal
+curl -fsS "${MVC_URL}/api/customers?size=200&fields=identificationNumber" \
+    | grep -o '"identificationNumber":"[^"]*"' \
+    | cut -d '"' -f 4 > "${LOAD_IDENTIFICATION_NUMBERS}"
+
+if [ ! -f "${RESULTS}" ]; then
+    {
+        echo "| Fecha | Variante | Conexiones | Duración | Solicitudes/s | p50 ms | p90 ms | p99 ms | Máx ms | Errores de socket | No 2xx | Hilos máx | RSS máx MiB |"
+        echo "|-------|----------|------------|----------|---------------|--------|--------|--------|--------|-------------------|--------|-----------|-------------|"
+    } > "${RESULTS}"
+fi
+
+# Máximo de hilos y memoria residente del proceso mientras dura la carga
+sample_process() {
+    local pid="$1" output="$2" threads=0 rss=0
+    while kill -0 "${pid}" 2>/dev/null && [ ! -f "${output}.stop" ]; do
+        local current_threads current_rss
+        current_threads=$(awk '/^Threads:/ {print $2}' "/proc/${pid}/status")
+        current_rss=$(awk '/^VmRSS:/ {print $2}' "/proc/${pid}/status")
+        [ "${current_threads}" -gt "${threads}" ] && threads=${current_threads}
+        [ "${current_rss}" -gt "${rss}" ] && rss=${current_rss}
+        echo "${threads} $((rss / 1024))" > "${output}"
+        sleep 1
+    done
+}
+
+run() {
+    local variant="$1" url="$2" pid="$3" samples="${OUTPUT_DIR}/${1}.process"
+
+    echo "== ${variant}: calentamiento (${WARMUP})"
+    wrk -t "${THREADS}" -c "${CONNECTIONS}" -d "${WARMUP}" -s "${SCRIPT_DIR}/customers.lua" "${url}" > /dev/null
+
+    rm -f "${samples}" "${samples}.stop"
+    echo "- -" > "${samples}"
+    if [ -n "${pid}" ]; then
+        sample_process "${pid}" "${samples}" &
+    fi
+
+    echo "== ${variant}: medición (${DURATION}, ${CONNECTIONS} conexiones)"
+    local output
+    output=$(wrk -t "${THREADS}" -c "${CONNECTIONS}" -d "${DURATION}" --latency --timeout 10s \
+        -s "${SCRIPT_DIR}/customers.lua" "${url}")
+    echo "${output}"
+
+    touch "${samples}.stop"
+    wait
+    local process result
+    process=$(cat "${samples}")
+    result=$(echo "${output}" | grep '^RESULT,')
+
+    IFS=',' read -r _ _ rps p50 p90 p99 max errors non2xx <<< "${result}"
+    read -r threads rss <<< "${process}"
+    echo "| $(date -u +%Y-%m-%dT%H:%MZ) | ${variant} | ${CONNECTIONS} | ${DURATION} | ${rps} | ${p50} | ${p90} | ${p99} | ${max} | ${errors} | ${non2xx} | ${threads} | ${rss} |" >> "${RESULTS}"
+}
+
+run "mvc" "${MVC_URL}" "${MVC_PID:-}"
+run "reactiva" "${REACTIVE_URL}" "${REACTIVE_PID:-}"
+
+echo
+cat "${RESULTS}"
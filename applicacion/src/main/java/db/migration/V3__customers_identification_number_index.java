@@ -0,0 +1,36 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Índice sobre {@code customers.identification_number} para la consulta por identificación.
+ *
+ * <p>
+ * En PostgreSQL se crea con {@code CREATE INDEX CONCURRENTLY}, que no bloquea las escrituras sobre
+ * {@code customers} mientras se construye; por eso la migración se ejecuta fuera de una transacción.
+ * En el resto de bases (H2 en las pruebas) se usa un {@code CREATE INDEX} normal.
+ * </p>
+ *
+ * <p>
+ * Si la creación concurrente falla, PostgreSQL deja el índice marcado como inválido: se debe eliminar con
+ * {@code DROP INDEX CONCURRENTLY idx_identification_number} y ejecutar {@code flyway repair} antes de
+ * volver a migrar.
+ * </p>
+ */
+public class V3__customers_identification_number_index extends BaseJavaMigration {
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        var connection = context.getConnection();
+        var concurrently = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()) ? "CONCURRENTLY " : "";
+        try (var statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX " + concurrently + "idx_identification_number ON customers (identification_number)");
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ec.com.bancointernacional.pruebatecnica.configuration;
+
+import ec.com.bancointernacional.pruebatecnica.interceptors.AdmissionControlInterceptor;
+import ec.com.bancointernacional.pruebatecnica.utils.AdaptiveConcurrencyLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra un compartimento de concurrencia independiente para la búsqueda de clientes (incluida
+ * la consulta de cambios) y otro para las consultas por número de identificación.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AdmissionControlConfiguration implements WebMvcConfigurer {
+
+    private final CustomerAdmissionProperties properties;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        registry.addInterceptor(interceptor("search", properties.getSearch()))
+                .addPathPatterns("/api/customers", "/api/customers/changes");
+
+        registry.addInterceptor(interceptor("lookup", properties.getLookup()))
+                .addPathPatterns("/api/customers/identification/**");
+    }
+
+    private AdmissionControlInterceptor interceptor(String name, CustomerAdmissionProperties.Bulkhead bulkhead) {
+        var limiter = new AdaptiveConcurrencyLimiter(name, bulkhead.getInitialLimit(), bulkhead.getMinLimit(), bulkhead.getMaxLimit());
+        return new AdmissionControlInterceptor(limiter, properties.getRetryAfter());
+    }
+}
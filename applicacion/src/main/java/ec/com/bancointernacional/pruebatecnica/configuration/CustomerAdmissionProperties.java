@@ -0,0 +1,76 @@
+package ec.com.bancointernacional.pruebatecnica.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@Data
+@ConfigurationProperties(prefix = "customer.admission")
+public class CustomerAdmissionProperties {
+
+    /**
+     * Habilita los límites de concurrencia por endpoint.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Valor del encabezado {@code Retry-After} en las respuestas rechazadas.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Límites de la búsqueda paginada ({@code GET /api/customers}).
+     */
+    private Bulkhead search = new Bulkhead(20, 4, 50);
+
+    /**
+     * Límites de las consultas por número de identificación.
+     */
+    private Bulkhead lookup = new Bulkhead(100, 10, 400);
+
+    /**
+     * Tamaño de página máximo aceptado en la búsqueda paginada.
+     */
+    private int maxPageSize = 200;
+
+    /**
+     * Longitud máxima de los parámetros {@code search} y {@code query}.
+     */
+    private int maxQueryLength = 500;
+
+    /**
+     * Cantidad máxima de comparaciones en el parámetro {@code query} (rsql).
+     */
+    private int maxQueryComparisons = 10;
+
+    @Data
+    public static class Bulkhead {
+
+        /**
+         * Límite de concurrencia inicial.
+         */
+        private int initialLimit;
+
+        /**
+         * Límite de concurrencia mínimo al que puede reducirse.
+         */
+        private int minLimit;
+
+        /**
+         * Límite de concurrencia máximo al que puede crecer.
+         */
+        private int maxLimit;
+
+        public Bulkhead() {
+        }
+
+        public Bulkhead(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ec.com.bancointernacional.pruebatecnica.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@Data
+@ConfigurationProperties(prefix = "customer.archive")
+public class CustomerArchiveProperties {
+
+    /**
+     * Habilita el proceso que mueve los clientes con cuenta cerrada a {@code customers_archive}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Tiempo que un cliente con cuenta cerrada permanece en {@code customers} desde su última modificación.
+     */
+    private Duration retention = Duration.ofDays(365);
+
+    /**
+     * Cantidad de clientes movidos por lote (y por transacción).
+     */
+    private int batchSize = 500;
+
+    /**
+     * Pausa entre lotes para limitar la carga sobre la base de datos.
+     */
+    private Duration pauseBetweenBatches = Duration.ofMillis(200);
+}
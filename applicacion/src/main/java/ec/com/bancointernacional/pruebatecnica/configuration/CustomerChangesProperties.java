@@ -0,0 +1,40 @@
+package ec.com.bancointernacional.pruebatecnica.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@Data
+@ConfigurationProperties(prefix = "customer.changes")
+public class CustomerChangesProperties {
+
+    /**
+     * Cantidad de cambios devueltos por página cuando no se indica {@code size}.
+     */
+    private int defaultPageSize = 500;
+
+    /**
+     * Cantidad máxima de cambios devueltos por página.
+     */
+    private int maxPageSize = 2000;
+
+    /**
+     * Antigüedad mínima de los cambios devueltos.
+     *
+     * <p>
+     * La fecha de modificación se asigna antes de confirmar la transacción, por lo que una
+     * transacción lenta puede confirmar una fila con una fecha anterior a otra ya devuelta. Solo
+     * se devuelven cambios con esta antigüedad, que debe cubrir la duración máxima de una
+     * transacción de escritura y la diferencia de reloj entre instancias.
+     * </p>
+     *
+     * <p>
+     * Las escrituras confirmadas después de este margen se registran en el log y en la métrica
+     * {@code customer.changes.late.commits}; si ocurren, se debe aumentar el margen.
+     * </p>
+     */
+    private Duration safetyLag = Duration.ofSeconds(5);
+}
@@ -0,0 +1,82 @@
+package ec.com.bancointernacional.pruebatecnica.configuration;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+@Configuration
+@Data
+@Validated
+@ConfigurationProperties(prefix = "customer.lookup")
+public class CustomerLookupProperties {
+
+    /**
+     * Cantidad máxima de números de identificación aceptados en una búsqueda por lote.
+     */
+    @Positive
+    private int batchMaxSize = 1000;
+
+    /**
+     * Cantidad de números de identificación enviados en cada consulta {@code IN} de una búsqueda por lote.
+     */
+    @Positive
+    private int batchChunkSize = 200;
+
+    /**
+     * Tiempo máximo que una búsqueda o consulta por identificación espera el resultado de otra idéntica
+     * en curso; pasado ese tiempo se ejecuta por su cuenta.
+     */
+    private Duration coalescingMaxWait = Duration.ofSeconds(5);
+
+    /**
+     * Filtro en memoria para evitar consultas por números de identificación que no existen.
+     */
+    @Valid
+    private NegativeFilter negativeFilter = new NegativeFilter();
+
+    @Data
+    public static class NegativeFilter {
+
+        /**
+         * Habilita el filtro.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Antigüedad máxima de la última actualización del filtro para responder "no encontrado" ante un
+         * descarte sin consultar la base de datos. Un cliente registrado por otra réplica puede responder
+         * "no encontrado" durante como máximo este tiempo más la duración de su transacción; si el filtro
+         * no se actualiza a tiempo, los descartes se confirman con la base de datos.
+         */
+        @NotNull
+        private Duration maxStaleness = Duration.ofSeconds(5);
+
+        /**
+         * Cantidad mínima de números para la que se dimensiona el filtro; si la tabla tiene más
+         * registros se dimensiona para el doble de los existentes.
+         */
+        @Positive
+        private long expectedInsertions = 1_000_000;
+
+        /**
+         * Tasa de falsos positivos objetivo; a menor tasa, más memoria.
+         */
+        @DecimalMin(value = "0", inclusive = false)
+        @DecimalMax(value = "1", inclusive = false)
+        private double falsePositiveRate = 0.01;
+
+        /**
+         * Cantidad de filas obtenidas por viaje a la base durante la construcción.
+         */
+        @Positive
+        private int scanFetchSize = 10_000;
+    }
+}
@@ -4,6 +4,10 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Configuration
 @Data
 @ConfigurationProperties(prefix = "customer.number.cipher")
@@ -11,6 +15,11 @@ public class CustomerNumberCipherProperties {
 
     /**
      * Clave utilizada para el cifrado y descifrado del número de cliente.
+     *
+     * <p>
+     * Es la clave "heredada": se usa para los valores cifrados sin prefijo de versión
+     * y para cifrar mientras no se configure {@link #activeKeyId}.
+     * </p>
      */
     private String key;
 
@@ -18,4 +27,54 @@ public class CustomerNumberCipherProperties {
      * Algoritmo de cifrado utilizado, ejemplo: "AES".
      */
     private String algorithm;
+
+    /**
+     * Identificador de la versión de clave con la que se cifran los valores nuevos,
+     * ejemplo: "v2". Debe existir en {@link #keys}.
+     */
+    private String activeKeyId;
+
+    /**
+     * Versiones de clave disponibles para descifrar, indexadas por su identificador.
+     * Los valores cifrados con una versión se almacenan con el prefijo {@code <id>:}.
+     */
+    private Map<String, KeyVersion> keys = new LinkedHashMap<>();
+
+    /**
+     * Configuración del proceso en segundo plano que vuelve a cifrar con la clave activa.
+     */
+    private ReEncryption reEncryption = new ReEncryption();
+
+    @Data
+    public static class KeyVersion {
+
+        /**
+         * Clave de esta versión.
+         */
+        private String key;
+
+        /**
+         * Algoritmo de esta versión; si se omite se usa {@link CustomerNumberCipherProperties#algorithm}.
+         */
+        private String algorithm;
+    }
+
+    @Data
+    public static class ReEncryption {
+
+        /**
+         * Habilita el proceso de re-cifrado.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Cantidad de filas leídas y actualizadas por lote (y por transacción).
+         */
+        private int batchSize = 500;
+
+        /**
+         * Pausa entre lotes para limitar la carga sobre la base de datos.
+         */
+        private Duration pauseBetweenBatches = Duration.ofMillis(200);
+    }
 }
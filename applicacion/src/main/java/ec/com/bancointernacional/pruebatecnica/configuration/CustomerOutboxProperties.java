@@ -0,0 +1,44 @@
+package ec.com.bancointernacional.pruebatecnica.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+@Data
+@ConfigurationProperties(prefix = "customer.outbox")
+public class CustomerOutboxProperties {
+
+    /**
+     * Habilita el proceso que publica los eventos pendientes del outbox.
+     */
+    private boolean relayEnabled = true;
+
+    /**
+     * Cantidad máxima de eventos publicados por lote (y por transacción).
+     */
+    private int batchSize = 200;
+
+    /**
+     * Tiempo que se conservan los eventos ya publicados antes de eliminarlos del outbox.
+     */
+    private Duration publishedRetention = Duration.ofDays(7);
+
+    /**
+     * Cantidad máxima de eventos publicados eliminados por transacción.
+     */
+    private int purgeBatchSize = 1000;
+
+    /**
+     * Destino de publicación: "file" (archivo JSON lines).
+     */
+    private String sink = "file";
+
+    /**
+     * Archivo donde se agregan los eventos cuando {@code sink=file}.
+     */
+    private Path file = Path.of("customer-events.jsonl");
+}
@@ -1,13 +1,19 @@
 package ec.com.bancointernacional.pruebatecnica.controllers;
 
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerBatchLookupRequest;
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerBatchLookupResponse;
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerChangesResponse;
 import ec.com.bancointernacional.pruebatecnica.dto.CustomerResponse;
 import ec.com.bancointernacional.pruebatecnica.services.CustomerService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -19,20 +25,58 @@ public class CustomerController {
 
     private final CustomerService service;
 
+    /**
+     * Búsqueda paginada de clientes.
+     *
+     * @param fields          campos a incluir en la respuesta separados por comas, por ejemplo
+     *                        {@code name,account.number}; si se omite se incluyen todos.
+     * @param includeArchived incluir los clientes con cuenta cerrada que ya fueron archivados.
+     */
     @GetMapping
     public ResponseEntity<Page<CustomerResponse>> page(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) String query,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
             Pageable pageable
     ) {
-        return ResponseEntity.ok(service.page(search, query, pageable));
+        return ResponseEntity.ok(service.page(search, query, fields, includeArchived, pageable));
+    }
+
+    /**
+     * Cambios incrementales: clientes creados o modificados después del token {@code since}.
+     * Se omite {@code since} en la primera solicitud y luego se envía el {@code nextToken} de la
+     * respuesta anterior, mientras {@code hasMore} sea {@code true} o periódicamente.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<CustomerChangesResponse> changes(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields
+    ) {
+        return ResponseEntity.ok(service.changes(since, size, fields));
     }
 
     /**
      * Obtiene un cliente por su número de identificación (cédula/pasaporte).
      */
     @GetMapping("/identification/{identificationNumber}")
-    public ResponseEntity<CustomerResponse> getByIdentificationNumber(@PathVariable String identificationNumber) {
-        return ResponseEntity.ok(service.getByIdentificationNumber(identificationNumber));
+    public ResponseEntity<CustomerResponse> getByIdentificationNumber(
+            @PathVariable String identificationNumber,
+            @RequestParam(required = false) String fields
+    ) {
+        return ResponseEntity.ok(service.getByIdentificationNumber(identificationNumber, fields));
+    }
+
+    /**
+     * Obtiene varios clientes por sus números de identificación en una sola solicitud.
+     * Los números sin cliente asociado se devuelven en {@code missing}.
+     */
+    @PostMapping("/identification/batch")
+    public ResponseEntity<CustomerBatchLookupResponse> getByIdentificationNumbers(
+            @Valid @RequestBody CustomerBatchLookupRequest request,
+            @RequestParam(required = false) String fields
+    ) {
+        return ResponseEntity.ok(service.getByIdentificationNumbers(request.getIdentificationNumbers(), fields));
     }
 }
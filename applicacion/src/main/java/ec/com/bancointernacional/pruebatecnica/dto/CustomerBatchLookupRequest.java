@@ -0,0 +1,23 @@
+package ec.com.bancointernacional.pruebatecnica.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerBatchLookupRequest {
+
+    /**
+     * Números de identificación a resolver; los duplicados se resuelven una sola vez.
+     */
+    @NotEmpty
+    private List<@NotBlank String> identificationNumbers;
+}
@@ -0,0 +1,25 @@
+package ec.com.bancointernacional.pruebatecnica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerBatchLookupResponse {
+
+    /**
+     * Clientes encontrados, en el orden de la solicitud.
+     */
+    private List<CustomerResponse> found;
+
+    /**
+     * Números de identificación que no corresponden a ningún cliente, en el orden de la solicitud.
+     */
+    private List<String> missing;
+}
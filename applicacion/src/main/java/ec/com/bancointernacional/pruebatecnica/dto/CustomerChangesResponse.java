@@ -0,0 +1,37 @@
+package ec.com.bancointernacional.pruebatecnica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerChangesResponse {
+
+    /**
+     * Clientes creados o modificados después de la marca de agua, del más antiguo al más reciente.
+     */
+    private List<CustomerResponse> changes;
+
+    /**
+     * Identificadores de los clientes archivados después de la marca de agua; ya no se encuentran en las
+     * consultas de clientes vigentes y los consumidores deben tratarlos como eliminados.
+     */
+    private List<UUID> archived;
+
+    /**
+     * Token a enviar en {@code since} en la siguiente solicitud. Si no hubo cambios es el mismo recibido.
+     */
+    private String nextToken;
+
+    /**
+     * Indica si hay más cambios disponibles inmediatamente, es decir, si se debe solicitar la siguiente página.
+     */
+    private boolean hasMore;
+}
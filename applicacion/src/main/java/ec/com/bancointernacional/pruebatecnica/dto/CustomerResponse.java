@@ -1,5 +1,6 @@
 package ec.com.bancointernacional.pruebatecnica.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import ec.com.bancointernacional.pruebatecnica.schemas.AccountStatus;
 import ec.com.bancointernacional.pruebatecnica.schemas.AccountType;
 import ec.com.bancointernacional.pruebatecnica.schemas.IdentificationType;
@@ -34,4 +35,35 @@ public class CustomerResponse {
         private BigDecimal balance;
         private AccountStatus status;
     }
+
+    /**
+     * Respuesta de una solicitud con el parámetro {@code fields}: los campos no seleccionados se omiten
+     * en lugar de serializarse en {@code null}. Sin selección se usa {@link CustomerResponse}, que
+     * conserva todos los campos.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Partial extends CustomerResponse {
+
+        public Partial(CustomerResponse response) {
+            super(
+                    response.getId(),
+                    response.getName(),
+                    response.getNumber(),
+                    response.getIdentificationNumber(),
+                    response.getIdentificationType(),
+                    response.getAccount() == null ? null : new PartialAccount(response.getAccount())
+            );
+        }
+    }
+
+    /**
+     * Cuenta de una {@link Partial}, con el mismo criterio de omitir los campos no seleccionados.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class PartialAccount extends AccountResponse {
+
+        public PartialAccount(AccountResponse account) {
+            super(account.getNumber(), account.getType(), account.getBalance(), account.getStatus());
+        }
+    }
 }
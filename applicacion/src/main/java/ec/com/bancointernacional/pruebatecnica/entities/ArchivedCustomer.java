@@ -0,0 +1,35 @@
+package ec.com.bancointernacional.pruebatecnica.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Registro de solo lectura de un cliente archivado en {@code customers_archive}, con solo su identificador
+ * y el momento del archivado.
+ *
+ * <p>
+ * Lo usa la consulta de cambios para informar los clientes que dejaron de estar vigentes; el resto de
+ * los datos archivados se consulta mediante {@link CustomerView}.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "customers_archive")
+public class ArchivedCustomer {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "archived_at")
+    private Instant archivedAt;
+}
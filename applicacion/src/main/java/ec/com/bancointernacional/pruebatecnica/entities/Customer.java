@@ -2,11 +2,16 @@ package ec.com.bancointernacional.pruebatecnica.entities;
 
 import ec.com.bancointernacional.pruebatecnica.entities.converters.CustomerNumberCipherConverter;
 import ec.com.bancointernacional.pruebatecnica.schemas.IdentificationType;
-import io.github.luidmidev.jakarta.validations.Validations;
+import ec.com.bancointernacional.pruebatecnica.utils.EcuadorIdentifications;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.domain.Persistable;
 
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -31,7 +36,9 @@ import java.util.UUID;
 @Table(
         name = "customers",
         indexes = {
-                @Index(name = "idx_account_number", columnList = "account_number", unique = true)
+                @Index(name = "idx_account_number", columnList = "account_number", unique = true),
+                @Index(name = "idx_identification_number", columnList = "identification_number"),
+                @Index(name = "idx_customers_updated_at_id", columnList = "updated_at, id")
         }
 )
 public class Customer {
@@ -40,12 +47,20 @@ public class Customer {
      * Identificador único del cliente.
      *
      * <p>
-     * Se genera automáticamente como un UUID mediante
-     * {@link GenerationType#UUID}. No se asigna manualmente.
+     * Se genera automáticamente como un UUID versión 7 mediante
+     * {@link UuidGenerator.Style#VERSION_7}. No se asigna manualmente.
+     * </p>
+     *
+     * <p>
+     * Los UUIDv7 comienzan con la marca de tiempo en milisegundos, por lo que los nuevos
+     * registros se insertan al final del índice {@code pk_customers} en lugar de en páginas
+     * aleatorias, evitando divisiones de página y amplificación de escritura en cargas masivas.
+     * Los identificadores v4 existentes siguen siendo válidos, ya que el tipo de columna no cambia.
      * </p>
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     private UUID id;
 
     /**
@@ -64,16 +79,17 @@ public class Customer {
      * <p>
      * Antes de persistir los datos, este campo se cifra usando
      * {@link CustomerNumberCipherConverter}. Al cargarse desde la base de datos,
-     * se descifra automáticamente.
+     * se descifra de forma diferida en el primer acceso mediante {@link LazyDecryptedString#get()}.
      * </p>
      *
      * <p>
      * No puede ser nulo y se almacena en la columna {@code number}.
      * </p>
      */
+    @Immutable
     @Convert(converter = CustomerNumberCipherConverter.class)
     @Column(name = "number", nullable = false)
-    private String number;
+    private LazyDecryptedString number;
 
     /**
      * Número de identificación del cliente (por ejemplo, cédula, pasaporte).
@@ -101,20 +117,39 @@ public class Customer {
     @Embedded
     private Account account;
 
+    /**
+     * Fecha y hora de la última modificación del cliente, asignada al insertar y en cada actualización.
+     *
+     * <p>
+     * Junto con el identificador forma la marca de agua del endpoint de cambios
+     * ({@code GET /api/customers/changes}), respaldado por el índice {@code idx_customers_updated_at_id}.
+     * Se toma del reloj de la base de datos ({@code CURRENT_TIMESTAMP} en la misma sentencia) para que todas
+     * las réplicas asignen fechas comparables; Hibernate lee el valor asignado después de cada escritura.
+     * </p>
+     */
+    @UpdateTimestamp(source = SourceType.DB)
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    /**
+     * Versión de la fila, incrementada en cada actualización para el control de concurrencia optimista.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @PrePersist
     @PreUpdate
     private void validate() {
         switch (identificationType) {
             case CI -> {
-                if (Validations.isValidCi(identificationNumber)) {
+                if (EcuadorIdentifications.isValidCi(identificationNumber)) {
                     return;
                 }
                 throw new IllegalArgumentException("El número de cédula de identidad no es válido.");
             }
             case RUC -> {
-                var ciPart = identificationNumber.substring(0, identificationNumber.length() - 3);
-                var rucPart = identificationNumber.substring(identificationNumber.length() - 3);
-                if (Validations.isValidCi(ciPart) && rucPart.equals("001")) {
+                if (EcuadorIdentifications.isValidRuc(identificationNumber)) {
                     return;
                 }
                 throw new IllegalArgumentException("El número de RUC no es válido.");
@@ -0,0 +1,77 @@
+package ec.com.bancointernacional.pruebatecnica.entities;
+
+import ec.com.bancointernacional.pruebatecnica.schemas.CustomerEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Evento de cambio de un cliente registrado en la tabla outbox.
+ *
+ * <p>
+ * Se inserta en la misma transacción que la creación o actualización del {@link Customer},
+ * por lo que el evento existe si y solo si el cambio fue confirmado. Un proceso en segundo
+ * plano publica los eventos pendientes y marca {@link #publishedAt}; la entrega es
+ * "al menos una vez", por lo que los consumidores deben ser idempotentes usando {@link #id}.
+ * </p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "customer_outbox")
+public class CustomerOutboxEvent {
+
+    /**
+     * Identificador incremental del evento.
+     *
+     * <p>
+     * Se obtiene de la secuencia {@code customer_outbox_seq} reservando bloques de valores,
+     * lo que permite agrupar las inserciones en lotes JDBC. Como cada instancia reserva su propio
+     * bloque y las transacciones se confirman en cualquier orden, el identificador no refleja el
+     * orden de los cambios: el relay publica por {@code id}, pero un evento con un identificador
+     * menor puede confirmarse (y publicarse) después que otro con uno mayor, incluso para el mismo cliente.
+     * </p>
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_outbox_seq")
+    @SequenceGenerator(name = "customer_outbox_seq", sequenceName = "customer_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Identificador del cliente afectado.
+     */
+    @Column(name = "customer_id", nullable = false)
+    private UUID customerId;
+
+    /**
+     * Tipo de cambio (creación o actualización).
+     */
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "event_type", nullable = false)
+    private CustomerEventType eventType;
+
+    /**
+     * Estado del cliente tras el cambio en formato JSON. No incluye el número de cliente.
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /**
+     * Momento en que se registró el cambio.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Momento en que el evento fue publicado, o {@code null} si está pendiente.
+     */
+    @Column(name = "published_at")
+    private Instant publishedAt;
+}
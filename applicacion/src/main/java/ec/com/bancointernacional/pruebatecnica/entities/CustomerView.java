@@ -0,0 +1,73 @@
+package ec.com.bancointernacional.pruebatecnica.entities;
+
+import ec.com.bancointernacional.pruebatecnica.entities.converters.CustomerNumberCipherConverter;
+import ec.com.bancointernacional.pruebatecnica.schemas.IdentificationType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Vista de solo lectura de todos los clientes: los vigentes de {@code customers} y los archivados
+ * de {@code customers_archive} (vista {@code customers_all}).
+ *
+ * <p>
+ * Se usa en la búsqueda con {@code includeArchived=true}, en las consultas por identificación cuando el
+ * número no corresponde a un cliente vigente y al construir el filtro de números de identificación; el
+ * resto de operaciones trabajan sobre {@link Customer}, es decir, solo sobre los clientes vigentes.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "customers_all")
+public class CustomerView {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "name")
+    private String name;
+
+    @Convert(converter = CustomerNumberCipherConverter.class)
+    @Column(name = "number")
+    private LazyDecryptedString number;
+
+    @Column(name = "identification_number")
+    private String identificationNumber;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "identification_type")
+    private IdentificationType identificationType;
+
+    @Embedded
+    private Account account;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    /**
+     * Indica si el cliente proviene de {@code customers_archive}.
+     */
+    @Column(name = "archived")
+    private boolean archived;
+
+    /**
+     * Convierte el registro en un {@link Customer} no gestionado, para reutilizar su mapeo a respuesta.
+     */
+    public Customer toCustomer() {
+        return Customer.builder()
+                .id(id)
+                .name(name)
+                .number(number)
+                .identificationNumber(identificationNumber)
+                .identificationType(identificationType)
+                .account(account)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package ec.com.bancointernacional.pruebatecnica.entities;
+
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Valor de texto que se almacena cifrado y cuyo descifrado se difiere hasta el primer acceso.
+ *
+ * <p>
+ * Al cargarse desde la base de datos solo se conserva el texto cifrado junto con la función
+ * de descifrado; el texto plano se calcula una única vez cuando se invoca {@link #get()}.
+ * De esta forma, las consultas que no necesitan el valor no pagan el costo del cifrador.
+ * </p>
+ *
+ * <p>
+ * Las instancias son inmutables: para cambiar el valor de un atributo se debe asignar una
+ * nueva instancia creada con {@link #of(String)}. Si una instancia cargada desde la base se
+ * vuelve a persistir sin cambios, se reutiliza el texto cifrado original sin volver a cifrar.
+ * </p>
+ */
+public final class LazyDecryptedString {
+
+    private final String cipherText;
+    private final UnaryOperator<String> decipher;
+    private volatile String plainText;
+
+    private LazyDecryptedString(String plainText, String cipherText, UnaryOperator<String> decipher) {
+        this.plainText = plainText;
+        this.cipherText = cipherText;
+        this.decipher = decipher;
+    }
+
+    /**
+     * Crea un valor a partir de su texto plano; se cifrará al momento de persistirse.
+     *
+     * @param plainText texto plano, no nulo.
+     * @return nuevo valor con el texto plano ya disponible.
+     */
+    public static LazyDecryptedString of(String plainText) {
+        return new LazyDecryptedString(Objects.requireNonNull(plainText), null, null);
+    }
+
+    /**
+     * Crea un valor a partir del texto cifrado leído desde la base de datos.
+     *
+     * @param cipherText texto cifrado tal como está almacenado.
+     * @param decipher   función que descifra el texto cuando sea requerido.
+     * @return nuevo valor pendiente de descifrar.
+     */
+    public static LazyDecryptedString ofCipherText(String cipherText, UnaryOperator<String> decipher) {
+        return new LazyDecryptedString(null, Objects.requireNonNull(cipherText), Objects.requireNonNull(decipher));
+    }
+
+    /**
+     * Obtiene el texto plano, descifrándolo en el primer acceso.
+     *
+     * @return el texto plano.
+     */
+    public String get() {
+        var value = plainText;
+        if (value == null) {
+            value = decipher.apply(cipherText);
+            plainText = value;
+        }
+        return value;
+    }
+
+    /**
+     * Indica si el texto plano ya está disponible, es decir, si no hará falta invocar al cifrador.
+     */
+    public boolean isDecrypted() {
+        return plainText != null;
+    }
+
+    /**
+     * Obtiene el texto cifrado a persistir. Si el valor proviene de la base de datos se
+     * reutiliza el texto cifrado original; en caso contrario se cifra el texto plano.
+     *
+     * @param cipher función de cifrado a usar cuando no existe texto cifrado previo.
+     * @return el texto cifrado.
+     */
+    public String toCipherText(UnaryOperator<String> cipher) {
+        return cipherText != null ? cipherText : cipher.apply(plainText);
+    }
+
+    /**
+     * Los valores cargados desde la base de datos se comparan por su texto cifrado y los creados con
+     * {@link #of(String)} por su texto plano; un valor de cada tipo nunca es igual al otro. De esta
+     * forma comparar o agrupar entidades no obliga a descifrar.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LazyDecryptedString other)) return false;
+        if (cipherText != null) return cipherText.equals(other.cipherText);
+        return other.cipherText == null && plainText.equals(other.plainText);
+    }
+
+    @Override
+    public int hashCode() {
+        return cipherText != null ? cipherText.hashCode() : plainText.hashCode();
+    }
+
+    /**
+     * No expone el valor para evitar filtrarlo en logs y para no forzar su descifrado.
+     */
+    @Override
+    public String toString() {
+        return "****";
+    }
+}
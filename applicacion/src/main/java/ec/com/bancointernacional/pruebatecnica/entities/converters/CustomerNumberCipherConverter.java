@@ -1,7 +1,8 @@
 package ec.com.bancointernacional.pruebatecnica.entities.converters;
 
 import ec.com.bancointernacional.pruebatecnica.configuration.CustomerNumberCipherProperties;
-import ec.com.bancointernacional.pruebatecnica.utils.CipherStringUtils;
+import ec.com.bancointernacional.pruebatecnica.entities.LazyDecryptedString;
+import ec.com.bancointernacional.pruebatecnica.services.CustomerNumberCipher;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 
@@ -10,22 +11,25 @@ import jakarta.persistence.Converter;
  * números de cliente (customerNumber) al almacenar y recuperar datos desde la base.
  * <p>
  * Este convertidor permite proteger datos sensibles mediante cifrado simétrico
- * utilizando los parámetros configurados en {@link CustomerNumberCipherProperties}.
+ * utilizando los parámetros configurados en {@link CustomerNumberCipherProperties},
+ * a través de {@link CustomerNumberCipher}, que admite varias versiones de clave.
  * El cifrado se ejecuta durante la conversión de atributo a columna, mientras que
- * el descifrado ocurre al convertir desde la columna hacia la entidad.
+ * el descifrado se difiere mediante {@link LazyDecryptedString} hasta que el valor
+ * se lee por primera vez.
  * </p>
  *
  * <h2>Funcionamiento</h2>
  * <ul>
- *   <li><b>convertToDatabaseColumn</b>: Cifra el valor antes de guardarlo.</li>
- *   <li><b>convertToEntityAttribute</b>: Descifra el valor leído desde la base.</li>
+ *   <li><b>convertToDatabaseColumn</b>: Cifra el valor antes de guardarlo, o reutiliza el texto
+ *   cifrado original si el valor se cargó desde la base.</li>
+ *   <li><b>convertToEntityAttribute</b>: Envuelve el texto cifrado leído desde la base, sin descifrarlo.</li>
  * </ul>
  *
  * <h2>Ejemplo de uso</h2>
  * <pre>{@code
  * @Column(name = "customer_number")
  * @Convert(converter = CustomerNumberCipherConverter.class)
- * private String customerNumber;
+ * private LazyDecryptedString customerNumber;
  * }</pre>
  *
  * <p>
@@ -34,46 +38,44 @@ import jakarta.persistence.Converter;
  * </p>
  */
 @Converter
-public class CustomerNumberCipherConverter implements AttributeConverter<String, String> {
+public class CustomerNumberCipherConverter implements AttributeConverter<LazyDecryptedString, String> {
 
-    private final String key;
-    private final String algorithm;
+    private final CustomerNumberCipher cipher;
 
     /**
-     * Crea una nueva instancia del convertidor utilizando los parámetros
-     * de cifrado configurados en la aplicación.
+     * Crea una nueva instancia del convertidor utilizando el cifrador
+     * configurado en la aplicación.
      *
-     * @param properties objeto de propiedades que contiene la clave y el algoritmo
-     *                   a utilizar para las operaciones criptográficas.
+     * @param cipher cifrador con las versiones de clave a utilizar para las
+     *               operaciones criptográficas.
      */
-    public CustomerNumberCipherConverter(CustomerNumberCipherProperties properties) {
-        this.key = properties.getKey();
-        this.algorithm = properties.getAlgorithm();
+    public CustomerNumberCipherConverter(CustomerNumberCipher cipher) {
+        this.cipher = cipher;
     }
 
     /**
      * Convierte el valor de la entidad hacia la forma en que debe almacenarse
      * en la base de datos, aplicando cifrado si el atributo no es nulo.
      *
-     * @param attribute el valor original (texto plano) desde la entidad.
+     * @param attribute el valor desde la entidad.
      * @return el valor cifrado para la columna, o {@code null} si el atributo es nulo.
      */
     @Override
-    public String convertToDatabaseColumn(String attribute) {
+    public String convertToDatabaseColumn(LazyDecryptedString attribute) {
         if (attribute == null) return null;
-        return CipherStringUtils.cipher(attribute, key, algorithm);
+        return attribute.toCipherText(cipher::cipher);
     }
 
     /**
-     * Convierte el valor almacenado en la base de datos hacia su forma legible
-     * por la entidad, aplicando descifrado si el valor no es nulo.
+     * Convierte el valor almacenado en la base de datos hacia su forma en la entidad.
+     * El descifrado no se realiza aquí, sino en el primer acceso al valor.
      *
      * @param dbData el texto cifrado proveniente de la base.
-     * @return el valor descifrado para la entidad, o {@code null} si el dato es nulo.
+     * @return el valor pendiente de descifrar, o {@code null} si el dato es nulo.
      */
     @Override
-    public String convertToEntityAttribute(String dbData) {
+    public LazyDecryptedString convertToEntityAttribute(String dbData) {
         if (dbData == null) return null;
-        return CipherStringUtils.decipher(dbData, key, algorithm);
+        return LazyDecryptedString.ofCipherText(dbData, cipher::decipher);
     }
 }
@@ -2,6 +2,7 @@ package ec.com.bancointernacional.pruebatecnica.initializers;
 
 import ec.com.bancointernacional.pruebatecnica.entities.Account;
 import ec.com.bancointernacional.pruebatecnica.entities.Customer;
+import ec.com.bancointernacional.pruebatecnica.entities.LazyDecryptedString;
 import ec.com.bancointernacional.pruebatecnica.schemas.AccountStatus;
 import ec.com.bancointernacional.pruebatecnica.schemas.AccountType;
 import ec.com.bancointernacional.pruebatecnica.schemas.IdentificationType;
@@ -13,6 +14,7 @@ import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
@@ -29,9 +31,21 @@ public class CustomerDataInitializer implements CommandLineRunner {
 
     private final CustomerService service;
 
+    /**
+     * Se evalúa en tiempo de ejecución (y no con una condición sobre el bean) para que pueda
+     * desactivarse también en el artefacto procesado con Spring AOT.
+     */
+    @Value("${customer.seed.enabled:true}")
+    private boolean enabled;
+
     @Override
     @Transactional
     public void run(String... args) {
+        if (!enabled) {
+            log.info("Carga de datos de prueba deshabilitada.");
+            return;
+        }
+
         var count = (Long) entityManager.createQuery("SELECT COUNT(c) FROM Customer c").getSingleResult();
 
         if (count > 0) {
@@ -61,13 +75,13 @@ public class CustomerDataInitializer implements CommandLineRunner {
 
             var customer = Customer.builder()
                     .name(faker.name().fullName())
-                    .number(String.valueOf(nextCustomerNumber)) // se cifrará automáticamente si está configurado
+                    .number(LazyDecryptedString.of(String.valueOf(nextCustomerNumber))) // se cifrará automáticamente si está configurado
                     .identificationType(IdentificationType.CI)
                     .identificationNumber(EcuadorIdGenerator.generateCedula())
                     .account(account)
                     .build();
 
-            entityManager.persist(customer);
+            service.create(customer);
         }
     }
 
@@ -84,13 +98,13 @@ public class CustomerDataInitializer implements CommandLineRunner {
 
         var customer1 = Customer.builder()
                 .name("Luis Vasquez")
-                .number(String.valueOf(service.nextCustomerNumber()))
+                .number(LazyDecryptedString.of(String.valueOf(service.nextCustomerNumber())))
                 .identificationType(IdentificationType.CI)
                 .identificationNumber("2300826357")
                 .account(account1)
                 .build();
 
-        entityManager.persist(customer1);
+        service.create(customer1);
 
         var account2 = Account.builder()
                 .number("987654321098")
@@ -101,12 +115,12 @@ public class CustomerDataInitializer implements CommandLineRunner {
 
         var customer2 = Customer.builder()
                 .name("Maria Gomez")
-                .number(String.valueOf(service.nextCustomerNumber()))
+                .number(LazyDecryptedString.of(String.valueOf(service.nextCustomerNumber())))
                 .identificationType(IdentificationType.CI)
                 .identificationNumber("2222222222")
                 .account(account2)
                 .build();
 
-        entityManager.persist(customer2);
+        service.create(customer2);
     }
 }
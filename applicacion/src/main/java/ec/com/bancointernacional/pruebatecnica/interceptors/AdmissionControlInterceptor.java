@@ -0,0 +1,77 @@
+package ec.com.bancointernacional.pruebatecnica.interceptors;
+
+import ec.com.bancointernacional.pruebatecnica.utils.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Interceptor que aplica un compartimento (bulkhead) de concurrencia adaptativa a un grupo de endpoints.
+ *
+ * <p>
+ * Si el grupo alcanzó su límite, la solicitud se rechaza de inmediato con {@code 503 Service Unavailable}
+ * y el encabezado {@code Retry-After}, sin llegar al controlador ni ocupar una conexión a la base de datos.
+ * Al usar un interceptor por grupo, las búsquedas costosas no pueden agotar la capacidad de las
+ * consultas por identificación y viceversa.
+ * </p>
+ *
+ * <p>
+ * El interceptor se ejecuta en el hilo de trabajo de Tomcat que ya atiende la solicitud: el rechazo
+ * libera ese hilo rápidamente, pero no evita que la solicitud lo ocupe ni que espere en la cola del
+ * servidor ({@code server.tomcat.threads.max}, {@code server.tomcat.accept-count}).
+ * </p>
+ */
+@Slf4j
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String retryAfterSeconds;
+    private final String startAttribute;
+
+    public AdmissionControlInterceptor(AdaptiveConcurrencyLimiter limiter, Duration retryAfter) {
+        this.limiter = limiter;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        this.startAttribute = AdmissionControlInterceptor.class.getName() + "." + limiter.getName();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!limiter.tryAcquire()) {
+            log.debug("Solicitud rechazada por el límite de concurrencia '{}' ({})", limiter.getName(), limiter.getLimit());
+            reject(response);
+            return false;
+        }
+        request.setAttribute(startAttribute, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, @Nullable Exception ex) {
+        if (request.getAttribute(startAttribute) instanceof Long start) {
+            request.removeAttribute(startAttribute);
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        var status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.getWriter().write("{\"type\":\"about:blank\",\"title\":\"" + status.getReasonPhrase()
+                + "\",\"status\":" + status.value()
+                + ",\"detail\":\"El servicio está saturado, intente nuevamente más tarde.\"}");
+    }
+}
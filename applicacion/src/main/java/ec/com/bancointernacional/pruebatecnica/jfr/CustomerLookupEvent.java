@@ -0,0 +1,36 @@
+package ec.com.bancointernacional.pruebatecnica.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import lombok.Setter;
+
+/**
+ * Consulta de clientes por número de identificación, individual o por lote.
+ * Los números de identificación no se registran por tratarse de datos personales.
+ */
+@Name("ec.com.bancointernacional.CustomerLookup")
+@Label("Consulta por identificación")
+@Category({"Banco Internacional", "Clientes"})
+@StackTrace(false)
+@Threshold("10 ms")
+@Setter
+public class CustomerLookupEvent extends Event {
+
+    @Label("Solicitados")
+    private int requested;
+
+    @Label("Descartados por el filtro")
+    @Description("Números descartados por el filtro actualizado y respondidos como no encontrados sin consultar la base de datos; con el filtro desactualizado los descartes se confirman con la base de datos y no se cuentan aquí.")
+    private int filtered;
+
+    @Label("Encontrados")
+    private int found;
+
+    @Label("Campos")
+    private String fields;
+}
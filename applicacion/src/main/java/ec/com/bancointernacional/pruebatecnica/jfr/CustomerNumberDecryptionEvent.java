@@ -0,0 +1,29 @@
+package ec.com.bancointernacional.pruebatecnica.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import lombok.Setter;
+
+/**
+ * Descifrado de los números de cliente de un conjunto de resultados.
+ */
+@Name("ec.com.bancointernacional.CustomerNumberDecryption")
+@Label("Descifrado de números de cliente")
+@Category({"Banco Internacional", "Cifrado"})
+@StackTrace(false)
+@Threshold("5 ms")
+@Setter
+public class CustomerNumberDecryptionEvent extends Event {
+
+    @Label("Origen")
+    @Description("Operación que originó el lote: search, batch-lookup, changes o re-encryption.")
+    private String origin;
+
+    @Label("Valores")
+    private int values;
+}
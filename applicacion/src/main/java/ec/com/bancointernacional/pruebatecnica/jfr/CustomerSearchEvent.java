@@ -0,0 +1,62 @@
+package ec.com.bancointernacional.pruebatecnica.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+import lombok.Setter;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Búsqueda paginada de clientes, con la duración de cada fase: consulta, descifrado y mapeo.
+ */
+@Name("ec.com.bancointernacional.CustomerSearch")
+@Label("Búsqueda de clientes")
+@Category({"Banco Internacional", "Clientes"})
+@StackTrace(false)
+@Threshold("20 ms")
+@Setter
+public class CustomerSearchEvent extends Event {
+
+    @Label("Búsqueda por texto")
+    @Description("Indica si se usó el parámetro search; su valor no se registra.")
+    private boolean textSearch;
+
+    @Label("Incluye archivados")
+    private boolean includeArchived;
+
+    @Label("Forma de la consulta RSQL")
+    @Description("Consulta RSQL con los argumentos reemplazados por '?'.")
+    private @Nullable String queryShape;
+
+    @Label("Campos")
+    private String fields;
+
+    @Label("Página")
+    private int pageNumber;
+
+    @Label("Tamaño de página")
+    private int pageSize;
+
+    @Label("Filas")
+    private int rows;
+
+    @Label("Total de elementos")
+    private long totalElements;
+
+    @Label("Consulta")
+    @Timespan
+    private long queryDuration;
+
+    @Label("Descifrado")
+    @Timespan
+    private long decryptionDuration;
+
+    @Label("Mapeo")
+    @Timespan
+    private long mappingDuration;
+}
@@ -0,0 +1,29 @@
+package ec.com.bancointernacional.pruebatecnica.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Fase de Flyway durante el arranque: validación, migración completa o ejecución de un script.
+ */
+@Name("ec.com.bancointernacional.FlywayMigration")
+@Label("Migración Flyway")
+@Category({"Banco Internacional", "Base de datos"})
+@StackTrace(false)
+@Setter
+public class FlywayMigrationEvent extends Event {
+
+    @Label("Fase")
+    private String phase;
+
+    @Label("Script")
+    private @Nullable String script;
+
+    @Label("Exitosa")
+    private boolean success;
+}
@@ -0,0 +1,82 @@
+package ec.com.bancointernacional.pruebatecnica.jfr;
+
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Registra un {@link FlywayMigrationEvent} por la validación, por la migración completa y por cada
+ * script aplicado, para distinguir en una grabación el tiempo de arranque que corresponde a Flyway.
+ *
+ * <p>
+ * Spring Boot registra automáticamente en Flyway los beans de tipo {@link Callback}. Flyway invoca los
+ * callbacks desde un único hilo, por lo que los eventos en curso se guardan sin sincronización.
+ * </p>
+ */
+@Component
+public class FlywayMigrationEventCallback implements Callback {
+
+    private static final Map<Event, Event> END_EVENTS = Map.of(
+            Event.AFTER_VALIDATE, Event.BEFORE_VALIDATE,
+            Event.AFTER_VALIDATE_ERROR, Event.BEFORE_VALIDATE,
+            Event.AFTER_MIGRATE, Event.BEFORE_MIGRATE,
+            Event.AFTER_MIGRATE_ERROR, Event.BEFORE_MIGRATE,
+            Event.AFTER_EACH_MIGRATE, Event.BEFORE_EACH_MIGRATE,
+            Event.AFTER_EACH_MIGRATE_ERROR, Event.BEFORE_EACH_MIGRATE
+    );
+
+    private static final Map<Event, String> PHASES = Map.of(
+            Event.BEFORE_VALIDATE, "validate",
+            Event.BEFORE_MIGRATE, "migrate",
+            Event.BEFORE_EACH_MIGRATE, "script"
+    );
+
+    private static final Set<Event> ERROR_EVENTS = Set.of(
+            Event.AFTER_VALIDATE_ERROR,
+            Event.AFTER_MIGRATE_ERROR,
+            Event.AFTER_EACH_MIGRATE_ERROR
+    );
+
+    private final Map<Event, FlywayMigrationEvent> started = new EnumMap<>(Event.class);
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return PHASES.containsKey(event) || END_EVENTS.containsKey(event);
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        if (PHASES.containsKey(event)) {
+            var jfrEvent = new FlywayMigrationEvent();
+            jfrEvent.begin();
+            started.put(event, jfrEvent);
+            return;
+        }
+
+        var start = END_EVENTS.get(event);
+        var jfrEvent = started.remove(start);
+        if (jfrEvent == null || !jfrEvent.shouldCommit()) return;
+
+        jfrEvent.setPhase(PHASES.get(start));
+        jfrEvent.setSuccess(!ERROR_EVENTS.contains(event));
+        if (start == Event.BEFORE_EACH_MIGRATE && context.getMigrationInfo() != null) {
+            jfrEvent.setScript(context.getMigrationInfo().getScript());
+        }
+        jfrEvent.commit();
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "jfr";
+    }
+}
@@ -0,0 +1,24 @@
+package ec.com.bancointernacional.pruebatecnica.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import lombok.Setter;
+
+/**
+ * Obtención de un valor de una secuencia de base de datos.
+ */
+@Name("ec.com.bancointernacional.SequenceFetch")
+@Label("Obtención de secuencia")
+@Category({"Banco Internacional", "Base de datos"})
+@StackTrace(false)
+@Threshold("5 ms")
+@Setter
+public class SequenceFetchEvent extends Event {
+
+    @Label("Secuencia")
+    private String sequence;
+}
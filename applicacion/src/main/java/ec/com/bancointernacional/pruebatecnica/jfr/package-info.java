@@ -0,0 +1,2 @@
+@org.jspecify.annotations.NullMarked
+package ec.com.bancointernacional.pruebatecnica.jfr;
@@ -0,0 +1,149 @@
+package ec.com.bancointernacional.pruebatecnica.jobs;
+
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerArchiveProperties;
+import ec.com.bancointernacional.pruebatecnica.entities.Customer;
+import ec.com.bancointernacional.pruebatecnica.outbox.CustomerOutboxWriter;
+import ec.com.bancointernacional.pruebatecnica.schemas.AccountStatus;
+import ec.com.bancointernacional.pruebatecnica.schemas.CustomerEventType;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Mueve a {@code customers_archive} los clientes con cuenta {@link AccountStatus#CLOSED} cuya última
+ * modificación es anterior al período de retención, para que las búsquedas, conteos e índices de
+ * {@code customers} solo recorran los clientes vigentes.
+ *
+ * <p>
+ * Cada lote se mueve en una transacción corta: las filas se bloquean omitiendo las ya bloqueadas
+ * ({@code SKIP LOCKED}), se copian a la tabla de archivo y se eliminan de {@code customers}. Una
+ * actualización concurrente de un cliente ya archivado falla por el control de versión optimista.
+ * </p>
+ *
+ * <p>
+ * En la misma transacción se registra un evento {@link CustomerEventType#ARCHIVED} por cliente en el
+ * outbox, de modo que los consumidores de eventos se enteren del archivado; los consumidores de
+ * {@code /api/customers/changes} lo reciben en la lista {@code archived}.
+ * </p>
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class CustomerArchivalJob {
+
+    private static final String COLUMNS = """
+            id, name, number, identification_number, identification_type,
+            account_number, account_type, account_balance, account_status, updated_at, version""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerOutboxWriter outboxWriter;
+    private final CustomerArchiveProperties properties;
+
+    public CustomerArchivalJob(
+            JdbcTemplate jdbcTemplate,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            CustomerOutboxWriter outboxWriter,
+            CustomerArchiveProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.outboxWriter = outboxWriter;
+        this.properties = properties;
+    }
+
+    @Scheduled(
+            initialDelayString = "${customer.archive.initial-delay:PT5M}",
+            fixedDelayString = "${customer.archive.interval:PT1H}"
+    )
+    public void scheduledRun() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        archiveAll();
+    }
+
+    /**
+     * Archiva por lotes todos los clientes que cumplen el período de retención.
+     *
+     * @return cantidad de clientes archivados.
+     */
+    public long archiveAll() {
+        var cutoff = OffsetDateTime.ofInstant(Instant.now().minus(properties.getRetention()), ZoneOffset.UTC);
+        log.info("Iniciando archivado de clientes con cuenta cerrada modificados antes de {}", cutoff);
+
+        long archived = 0;
+        while (true) {
+            var batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            if (batch == null || batch == 0) {
+                break;
+            }
+
+            archived += batch;
+
+            if (!pause()) {
+                log.info("Archivado interrumpido tras {} clientes, se reanudará en la siguiente ejecución.", archived);
+                return archived;
+            }
+        }
+
+        log.info("Archivado de clientes finalizado, {} clientes movidos a customers_archive.", archived);
+        return archived;
+    }
+
+    private int archiveBatch(OffsetDateTime cutoff) {
+        var ids = jdbcTemplate.queryForList(
+                "SELECT id FROM customers WHERE account_status = ? AND updated_at < ? ORDER BY updated_at, id LIMIT ? FOR UPDATE SKIP LOCKED",
+                UUID.class,
+                AccountStatus.CLOSED.ordinal(), cutoff, properties.getBatchSize()
+        );
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        entityManager.createQuery("SELECT c FROM Customer c WHERE c.id IN :ids", Customer.class)
+                .setParameter("ids", ids)
+                .getResultList()
+                .forEach(customer -> outboxWriter.append(customer, CustomerEventType.ARCHIVED));
+        // Los eventos se escriben antes de mover las filas y los clientes cargados dejan de gestionarse,
+        // para que Hibernate no intente sincronizarlos al confirmar
+        entityManager.flush();
+        entityManager.clear();
+
+        // La fecha de archivado usa el reloj de la base de datos, igual que updated_at
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO customers_archive (" + COLUMNS + ", archived_at) SELECT " + COLUMNS + ", CURRENT_TIMESTAMP FROM customers WHERE id = ?",
+                ids, ids.size(),
+                (ps, id) -> ps.setObject(1, id)
+        );
+        jdbcTemplate.batchUpdate("DELETE FROM customers WHERE id = ?", ids, ids.size(), (ps, id) -> ps.setObject(1, id));
+
+        log.debug("Lote de archivado: {} clientes movidos a customers_archive.", ids.size());
+        return ids.size();
+    }
+
+    private boolean pause() {
+        var pause = properties.getPauseBetweenBatches();
+        if (pause.isZero() || pause.isNegative()) return true;
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package ec.com.bancointernacional.pruebatecnica.jobs;
+
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerNumberCipherProperties;
+import ec.com.bancointernacional.pruebatecnica.jfr.CustomerNumberDecryptionEvent;
+import ec.com.bancointernacional.pruebatecnica.services.CustomerNumberCipher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Proceso en segundo plano que vuelve a cifrar los números de cliente con la versión de clave activa.
+ *
+ * <p>
+ * Recorre la tabla {@code customers} por rangos de {@code id} (keyset pagination), en lotes de
+ * tamaño configurable, cada uno en su propia transacción corta y con una pausa entre lotes para
+ * no competir con el tráfico de la aplicación. Las actualizaciones se envían con JDBC batching.
+ * </p>
+ *
+ * <p>
+ * El proceso es reanudable: el último {@code id} procesado se guarda en {@code job_checkpoints} en la
+ * misma transacción que cada lote, por lo que tras un reinicio o en otra instancia el recorrido continúa
+ * desde ese punto. La fila del punto de control se bloquea durante el lote, de modo que dos instancias
+ * no procesan el mismo rango a la vez. El punto de control registra la versión de clave activa: si esta
+ * cambia, el recorrido comienza de nuevo desde el inicio.
+ * </p>
+ *
+ * <p>
+ * Una fila que no se puede descifrar (por ejemplo, con una versión de clave que ya no está configurada)
+ * se registra en el log, se cuenta en {@code customer.number.reencryption.skipped} y se omite, sin
+ * detener el recorrido.
+ * </p>
+ *
+ * <p>
+ * Cada fila re-cifrada incrementa su {@code version}, de modo que una entidad cargada antes del
+ * re-cifrado no pueda guardarse sobre la fila sin detectar el cambio (bloqueo optimista).
+ * </p>
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class CustomerNumberReEncryptionJob implements MeterBinder {
+
+    /**
+     * Identificador del proceso en {@code job_checkpoints}.
+     */
+    static final String JOB = "customer-number-re-encryption";
+
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerNumberCipher cipher;
+    private final CustomerNumberCipherProperties.ReEncryption properties;
+
+    private final AtomicLong skippedRows = new AtomicLong();
+
+    public CustomerNumberReEncryptionJob(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            CustomerNumberCipher cipher,
+            CustomerNumberCipherProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cipher = cipher;
+        this.properties = properties.getReEncryption();
+    }
+
+    @Scheduled(
+            initialDelayString = "${customer.number.cipher.re-encryption.initial-delay:PT1M}",
+            fixedDelayString = "${customer.number.cipher.re-encryption.interval:PT1H}"
+    )
+    public void scheduledRun() {
+        if (!properties.isEnabled() || cipher.getActivePrefix() == null) {
+            return;
+        }
+        reEncryptAll();
+    }
+
+    /**
+     * Recorre la tabla desde el último punto de control hasta el final, re-cifrando
+     * los valores que no usan la clave activa.
+     *
+     * @return cantidad de filas actualizadas.
+     */
+    public long reEncryptAll() {
+        var prefix = cipher.getActivePrefix();
+        if (prefix == null) {
+            log.warn("No hay una versión de clave activa configurada, no se re-cifran números de cliente.");
+            return 0;
+        }
+
+        log.info("Iniciando re-cifrado de números de cliente con la clave '{}'", cipher.getActiveKeyId());
+
+        long updated = 0;
+        while (true) {
+            var batch = transactionTemplate.execute(status -> reEncryptBatch(prefix));
+            if (batch == null || batch.lastId() == null) {
+                break;
+            }
+
+            updated += batch.updated();
+
+            if (!pause()) {
+                log.info("Re-cifrado interrumpido en id={}, se reanudará en la siguiente ejecución.", batch.lastId());
+                return updated;
+            }
+        }
+
+        log.info("Re-cifrado de números de cliente finalizado, {} filas actualizadas.", updated);
+        return updated;
+    }
+
+    private Batch reEncryptBatch(String prefix) {
+        // Bloquea el punto de control hasta el final del lote: otra instancia espera y continúa después
+        var checkpoint = jdbcTemplate.queryForObject(
+                "SELECT scope, last_id FROM job_checkpoints WHERE job = ? FOR UPDATE",
+                (rs, rowNum) -> new Checkpoint(rs.getString("scope"), rs.getObject("last_id", UUID.class)),
+                JOB
+        );
+        var afterId = checkpoint != null && prefix.equals(checkpoint.scope()) && checkpoint.lastId() != null
+                ? checkpoint.lastId()
+                : MIN_ID;
+
+        var rows = jdbcTemplate.query(
+                "SELECT id, number FROM customers WHERE id > ? AND number NOT LIKE ? ESCAPE '\\' ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new Row(rs.getObject("id", UUID.class), rs.getString("number")),
+                afterId, escapeLike(prefix) + "%", properties.getBatchSize()
+        );
+
+        if (rows.isEmpty()) {
+            // Recorrido completo: la próxima ejecución comienza desde el inicio
+            saveCheckpoint(prefix, null);
+            return new Batch(null, 0);
+        }
+
+        // El evento incluye también el cifrado con la clave activa
+        var event = new CustomerNumberDecryptionEvent();
+        event.begin();
+
+        List<Object[]> updates = new ArrayList<>(rows.size());
+        for (var row : rows) {
+            try {
+                var reEncrypted = cipher.cipher(cipher.decipher(row.number()));
+                updates.add(new Object[]{reEncrypted, row.id(), row.number()});
+            } catch (RuntimeException e) {
+                skippedRows.incrementAndGet();
+                log.warn("No se pudo re-cifrar el número del cliente id={}, se omite: {}", row.id(), e.getMessage());
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.setOrigin("re-encryption");
+            event.setValues(rows.size());
+            event.commit();
+        }
+
+        // La condición sobre el valor anterior evita pisar un cambio concurrente de la fila
+        var results = updates.isEmpty()
+                ? new int[0]
+                : jdbcTemplate.batchUpdate("UPDATE customers SET number = ?, version = version + 1 WHERE id = ? AND number = ?", updates);
+
+        var updated = 0;
+        for (var result : results) {
+            if (result > 0 || result == Statement.SUCCESS_NO_INFO) updated++;
+        }
+
+        var lastId = rows.getLast().id();
+        saveCheckpoint(prefix, lastId);
+        log.debug("Lote de re-cifrado hasta id={}: {} filas actualizadas.", lastId, updated);
+        return new Batch(lastId, updated);
+    }
+
+    private void saveCheckpoint(String prefix, @Nullable UUID lastId) {
+        jdbcTemplate.update(
+                "UPDATE job_checkpoints SET scope = ?, last_id = ?, updated_at = CURRENT_TIMESTAMP WHERE job = ?",
+                prefix, lastId, JOB
+        );
+    }
+
+    /**
+     * Total de filas omitidas porque su número no se pudo descifrar, desde el arranque.
+     */
+    public long getSkippedRows() {
+        return skippedRows.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("customer.number.reencryption.skipped", this, CustomerNumberReEncryptionJob::getSkippedRows)
+                .description("Números de cliente que no se pudieron descifrar durante el re-cifrado")
+                .register(registry);
+    }
+
+    /**
+     * Escapa los comodines de {@code LIKE} para que un identificador de clave como {@code v_2}
+     * no coincida también con otros prefijos, como {@code vx2:}.
+     */
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private boolean pause() {
+        var pause = properties.getPauseBetweenBatches();
+        if (pause.isZero() || pause.isNegative()) return true;
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Row(UUID id, String number) {
+    }
+
+    private record Batch(@Nullable UUID lastId, int updated) {
+    }
+
+    private record Checkpoint(@Nullable String scope, @Nullable UUID lastId) {
+    }
+}
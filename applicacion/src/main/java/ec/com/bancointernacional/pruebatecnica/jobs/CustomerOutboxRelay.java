@@ -0,0 +1,208 @@
+package ec.com.bancointernacional.pruebatecnica.jobs;
+
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerOutboxProperties;
+import ec.com.bancointernacional.pruebatecnica.entities.CustomerOutboxEvent;
+import ec.com.bancointernacional.pruebatecnica.outbox.CustomerEventSink;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica los eventos pendientes del outbox de clientes hacia el {@link CustomerEventSink} configurado.
+ *
+ * <p>
+ * Cada lote se lee, publica y marca como publicado dentro de una misma transacción. Las filas se
+ * bloquean omitiendo las ya bloqueadas ({@code SKIP LOCKED}), por lo que varias instancias pueden
+ * ejecutar el proceso en paralelo sin publicar dos veces el mismo lote. Si la publicación falla la
+ * transacción se revierte y los eventos se reintentan en la siguiente ejecución (entrega "al menos una vez").
+ * </p>
+ *
+ * <p>
+ * Los eventos publicados se conservan durante {@code customer.outbox.published-retention} y luego se
+ * eliminan por lotes. Los contadores del proceso se exponen como métricas {@code customer.outbox.*}.
+ * </p>
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class CustomerOutboxRelay implements MeterBinder {
+
+    /**
+     * Valor de {@code jakarta.persistence.lock.timeout} que Hibernate traduce a {@code SKIP LOCKED}.
+     */
+    private static final int SKIP_LOCKED = -2;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerEventSink sink;
+    private final CustomerOutboxProperties properties;
+
+    private final AtomicLong publishedEvents = new AtomicLong();
+    private final AtomicLong publishedBatches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong purgedEvents = new AtomicLong();
+
+    public CustomerOutboxRelay(
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            CustomerEventSink sink,
+            CustomerOutboxProperties properties
+    ) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.sink = sink;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${customer.outbox.relay-interval:PT1S}")
+    public void scheduledRun() {
+        if (!properties.isRelayEnabled()) {
+            return;
+        }
+        try {
+            relayPending();
+        } catch (RuntimeException e) {
+            failedBatches.incrementAndGet();
+            log.warn("No se pudo publicar un lote de eventos de clientes, se reintentará: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publica lotes hasta vaciar los eventos pendientes.
+     *
+     * @return cantidad de eventos publicados.
+     */
+    public long relayPending() {
+        var start = System.nanoTime();
+        long published = 0;
+
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> relayBatch());
+            published += batch;
+        } while (batch == properties.getBatchSize());
+
+        if (published > 0) {
+            var elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+            log.info("Publicados {} eventos de clientes en {} ms ({} eventos/s)", published, elapsedMillis, published * 1000 / elapsedMillis);
+        }
+        return published;
+    }
+
+    @Scheduled(
+            initialDelayString = "${customer.outbox.purge-interval:PT1H}",
+            fixedDelayString = "${customer.outbox.purge-interval:PT1H}"
+    )
+    public void scheduledPurge() {
+        try {
+            purgePublished();
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron eliminar los eventos de clientes ya publicados: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Elimina por lotes los eventos publicados antes del período de retención.
+     *
+     * @return cantidad de eventos eliminados.
+     */
+    public long purgePublished() {
+        var publishedBefore = Instant.now().minus(properties.getPublishedRetention());
+        long purged = 0;
+
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> entityManager.createNativeQuery("""
+                            DELETE FROM customer_outbox WHERE id IN (
+                                SELECT id FROM customer_outbox WHERE published_at < ? ORDER BY published_at, id LIMIT ?
+                            )""")
+                    .setParameter(1, publishedBefore)
+                    .setParameter(2, properties.getPurgeBatchSize())
+                    .executeUpdate());
+            purged += batch;
+        } while (batch == properties.getPurgeBatchSize());
+
+        if (purged > 0) {
+            purgedEvents.addAndGet(purged);
+            log.info("Eliminados {} eventos de clientes publicados antes de {}", purged, publishedBefore);
+        }
+        return purged;
+    }
+
+    private int relayBatch() {
+        var events = entityManager.createQuery("SELECT e FROM CustomerOutboxEvent e WHERE e.publishedAt IS NULL ORDER BY e.id", CustomerOutboxEvent.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint("jakarta.persistence.lock.timeout", SKIP_LOCKED)
+                .setMaxResults(properties.getBatchSize())
+                .getResultList();
+
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        sink.publish(events);
+
+        var now = Instant.now();
+        for (var event : events) {
+            event.setPublishedAt(now);
+        }
+
+        publishedEvents.addAndGet(events.size());
+        publishedBatches.incrementAndGet();
+        return events.size();
+    }
+
+    /**
+     * Total de eventos publicados desde el arranque.
+     */
+    public long getPublishedEvents() {
+        return publishedEvents.get();
+    }
+
+    /**
+     * Total de lotes publicados desde el arranque.
+     */
+    public long getPublishedBatches() {
+        return publishedBatches.get();
+    }
+
+    /**
+     * Total de ejecuciones que fallaron al publicar y serán reintentadas.
+     */
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+
+    /**
+     * Total de eventos publicados eliminados del outbox desde el arranque.
+     */
+    public long getPurgedEvents() {
+        return purgedEvents.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("customer.outbox.published.events", this, CustomerOutboxRelay::getPublishedEvents)
+                .description("Eventos de clientes publicados")
+                .register(registry);
+        FunctionCounter.builder("customer.outbox.published.batches", this, CustomerOutboxRelay::getPublishedBatches)
+                .description("Lotes de eventos de clientes publicados")
+                .register(registry);
+        FunctionCounter.builder("customer.outbox.failed.batches", this, CustomerOutboxRelay::getFailedBatches)
+                .description("Ejecuciones del relay que fallaron y serán reintentadas")
+                .register(registry);
+        FunctionCounter.builder("customer.outbox.purged.events", this, CustomerOutboxRelay::getPurgedEvents)
+                .description("Eventos publicados eliminados del outbox")
+                .register(registry);
+    }
+}
@@ -0,0 +1,117 @@
+package ec.com.bancointernacional.pruebatecnica.mappers;
+
+import com.peluware.springframework.web.problemdetails.ProblemDetails;
+import org.jspecify.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Selección de campos de {@link ec.com.bancointernacional.pruebatecnica.dto.CustomerResponse}
+ * solicitada por el cliente, por ejemplo {@code fields=name,account.number}.
+ *
+ * <p>
+ * Los campos no seleccionados no se mapean, lo que permite omitir trabajo costoso como el
+ * descifrado del número de cliente cuando {@code number} no es requerido. Seleccionar
+ * {@code account} incluye todos sus subcampos.
+ * </p>
+ */
+public final class CustomerFieldSelection {
+
+    /**
+     * Selección que incluye todos los campos; es la usada cuando no se especifica {@code fields}.
+     */
+    public static final CustomerFieldSelection ALL = new CustomerFieldSelection(null);
+
+    private static final Set<String> KNOWN_FIELDS = Set.of(
+            "id", "name", "number", "identificationNumber", "identificationType",
+            "account", "account.number", "account.type", "account.balance", "account.status"
+    );
+
+    private final Set<String> fields;
+
+    private CustomerFieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Interpreta una lista de campos separados por comas.
+     *
+     * @param fields lista de campos, o {@code null}/vacío para seleccionar todos.
+     * @return la selección correspondiente.
+     * @throws ProblemDetails si alguno de los campos no existe.
+     */
+    public static CustomerFieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) return ALL;
+
+        var unknown = findUnknownField(fields);
+        if (unknown != null) {
+            throw ProblemDetails
+                    .badRequest("Campo desconocido en el parámetro fields.")
+                    .extension("field", unknown);
+        }
+
+        var selected = new HashSet<String>();
+        for (var field : fields.split(",")) {
+            var trimmed = field.trim();
+            if (!trimmed.isEmpty()) selected.add(trimmed);
+        }
+        return selected.isEmpty() ? ALL : new CustomerFieldSelection(selected);
+    }
+
+    /**
+     * Busca el primer campo desconocido de una lista de campos separados por comas, para validarla
+     * sin depender de la excepción de {@link #parse(String)}.
+     *
+     * @param fields lista de campos, puede ser {@code null}.
+     * @return el primer campo desconocido, o {@code null} si todos existen.
+     */
+    public static @Nullable String findUnknownField(@Nullable String fields) {
+        if (fields == null) return null;
+        for (var field : fields.split(",")) {
+            var trimmed = field.trim();
+            if (!trimmed.isEmpty() && !KNOWN_FIELDS.contains(trimmed)) return trimmed;
+        }
+        return null;
+    }
+
+    /**
+     * Indica si el campo indicado (por ejemplo {@code number} o {@code account.status}) fue seleccionado.
+     */
+    public boolean includes(String field) {
+        if (fields == null || fields.contains(field)) return true;
+        var dot = field.indexOf('.');
+        return dot > 0 && fields.contains(field.substring(0, dot));
+    }
+
+    /**
+     * Indica si se seleccionó la cuenta o alguno de sus subcampos.
+     */
+    public boolean includesAccount() {
+        if (fields == null) return true;
+        for (var field : fields) {
+            if (field.startsWith("account")) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof CustomerFieldSelection other && Objects.equals(fields, other.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(fields);
+    }
+
+    /**
+     * Campos seleccionados en orden alfabético separados por comas, o {@code *} si se incluyen todos.
+     */
+    @Override
+    public String toString() {
+        return fields == null ? "*" : String.join(",", new TreeSet<>(fields));
+    }
+}
@@ -9,26 +9,36 @@ import lombok.experimental.UtilityClass;
 public final class CustomerMapper {
 
     public static CustomerResponse toResponse(Customer customer) {
+        return toResponse(customer, CustomerFieldSelection.ALL);
+    }
+
+    /**
+     * Mapea solo los campos seleccionados; el número de cliente únicamente se descifra
+     * si {@code number} forma parte de la selección. Con una selección parcial el resultado es una
+     * {@link CustomerResponse.Partial}, que omite en el JSON los campos no seleccionados.
+     */
+    public static CustomerResponse toResponse(Customer customer, CustomerFieldSelection fields) {
         if (customer == null) return null;
 
-        return CustomerResponse.builder()
-                .id(customer.getId())
-                .name(customer.getName())
-                .number(customer.getNumber())
-                .identificationNumber(customer.getIdentificationNumber())
-                .identificationType(customer.getIdentificationType())
-                .account(toAccountResponse(customer.getAccount()))
-                .build();
+        var builder = CustomerResponse.builder();
+        if (fields.includes("id")) builder.id(customer.getId());
+        if (fields.includes("name")) builder.name(customer.getName());
+        if (fields.includes("number") && customer.getNumber() != null) builder.number(customer.getNumber().get());
+        if (fields.includes("identificationNumber")) builder.identificationNumber(customer.getIdentificationNumber());
+        if (fields.includes("identificationType")) builder.identificationType(customer.getIdentificationType());
+        if (fields.includesAccount()) builder.account(toAccountResponse(customer.getAccount(), fields));
+        var response = builder.build();
+        return fields == CustomerFieldSelection.ALL ? response : new CustomerResponse.Partial(response);
     }
 
-    private static CustomerResponse.AccountResponse toAccountResponse(Account account) {
+    private static CustomerResponse.AccountResponse toAccountResponse(Account account, CustomerFieldSelection fields) {
         if (account == null) return null;
 
-        return CustomerResponse.AccountResponse.builder()
-                .number(account.getNumber())
-                .type(account.getType())
-                .balance(account.getBalance())
-                .status(account.getStatus())
-                .build();
+        var builder = CustomerResponse.AccountResponse.builder();
+        if (fields.includes("account.number")) builder.number(account.getNumber());
+        if (fields.includes("account.type")) builder.type(account.getType());
+        if (fields.includes("account.balance")) builder.balance(account.getBalance());
+        if (fields.includes("account.status")) builder.status(account.getStatus());
+        return builder.build();
     }
 }
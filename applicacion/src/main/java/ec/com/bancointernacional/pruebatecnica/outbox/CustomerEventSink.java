@@ -0,0 +1,25 @@
+package ec.com.bancointernacional.pruebatecnica.outbox;
+
+import ec.com.bancointernacional.pruebatecnica.entities.CustomerOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destino al que se publican los eventos de cambio de clientes leídos del outbox.
+ *
+ * <p>
+ * La publicación de un lote debe ser completa o fallar con una excepción; en ese caso
+ * ningún evento del lote se marca como publicado y se reintentará más adelante, por lo que
+ * un mismo evento puede llegar más de una vez.
+ * </p>
+ */
+public interface CustomerEventSink {
+
+    /**
+     * Publica los eventos en el orden recibido.
+     *
+     * @param events eventos pendientes ordenados por id, orden que no necesariamente coincide con el de los cambios.
+     * @throws RuntimeException si el lote no pudo publicarse por completo.
+     */
+    void publish(List<CustomerOutboxEvent> events);
+}
@@ -0,0 +1,50 @@
+package ec.com.bancointernacional.pruebatecnica.outbox;
+
+import ec.com.bancointernacional.pruebatecnica.entities.Customer;
+import ec.com.bancointernacional.pruebatecnica.entities.CustomerOutboxEvent;
+import ec.com.bancointernacional.pruebatecnica.mappers.CustomerFieldSelection;
+import ec.com.bancointernacional.pruebatecnica.mappers.CustomerMapper;
+import ec.com.bancointernacional.pruebatecnica.schemas.CustomerEventType;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+
+/**
+ * Registra eventos de clientes en la tabla {@code customer_outbox}.
+ *
+ * <p>
+ * El evento se agrega en la transacción en curso, por lo que debe llamarse en la misma transacción
+ * que modifica al cliente: ambos se confirman o se descartan juntos.
+ * </p>
+ */
+@Component
+public class CustomerOutboxWriter {
+
+    /**
+     * Campos publicados en los eventos de cambio; el número de cliente no sale del sistema.
+     */
+    private static final CustomerFieldSelection EVENT_FIELDS = CustomerFieldSelection.parse("id,name,identificationNumber,identificationType,account");
+
+    private final EntityManager entityManager;
+    private final JsonMapper jsonMapper;
+
+    public CustomerOutboxWriter(EntityManager entityManager, JsonMapper jsonMapper) {
+        this.entityManager = entityManager;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Agrega al outbox un evento del tipo indicado con el estado actual del cliente.
+     */
+    public void append(Customer customer, CustomerEventType type) {
+        var payload = jsonMapper.writeValueAsString(CustomerMapper.toResponse(customer, EVENT_FIELDS));
+        entityManager.persist(CustomerOutboxEvent.builder()
+                .customerId(customer.getId())
+                .eventType(type)
+                .payload(payload)
+                .createdAt(Instant.now())
+                .build());
+    }
+}
@@ -0,0 +1,70 @@
+package ec.com.bancointernacional.pruebatecnica.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerOutboxProperties;
+import ec.com.bancointernacional.pruebatecnica.entities.CustomerOutboxEvent;
+import ec.com.bancointernacional.pruebatecnica.schemas.CustomerEventType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publica los eventos agregándolos a un archivo en formato JSON lines, una línea por evento:
+ * <pre>{@code
+ * {"id":1,"type":"CREATED","customerId":"...","createdAt":"...","payload":{...}}
+ * }</pre>
+ *
+ * <p>
+ * Cada lote se sincroniza a disco antes de confirmarse como publicado. Es el destino por defecto: un
+ * recolector de logs o un conector de archivos lleva los eventos al sistema de mensajería.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "customer.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileCustomerEventSink implements CustomerEventSink {
+
+    private final Path file;
+    private final JsonMapper jsonMapper;
+
+    public FileCustomerEventSink(CustomerOutboxProperties properties, JsonMapper jsonMapper) {
+        this.file = properties.getFile();
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<CustomerOutboxEvent> events) {
+        try (var output = new FileOutputStream(file.toFile(), true);
+             var writer = new OutputStreamWriter(output, StandardCharsets.UTF_8)) {
+            for (var event : events) {
+                writer.write(jsonMapper.writeValueAsString(new Line(
+                        event.getId(),
+                        event.getEventType(),
+                        event.getCustomerId(),
+                        event.getCreatedAt(),
+                        event.getPayload()
+                )));
+                writer.write('\n');
+            }
+            writer.flush();
+            output.getFD().sync();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron escribir los eventos de clientes en " + file, e);
+        }
+    }
+
+    /**
+     * Línea del archivo; el payload ya es JSON y se escribe tal cual.
+     */
+    private record Line(Long id, CustomerEventType type, UUID customerId, Instant createdAt, @JsonRawValue String payload) {
+    }
+}
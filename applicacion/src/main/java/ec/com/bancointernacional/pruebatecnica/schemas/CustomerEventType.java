@@ -0,0 +1,13 @@
+package ec.com.bancointernacional.pruebatecnica.schemas;
+
+public enum CustomerEventType {
+    CREATED,
+    /**
+     * Reservado para las modificaciones de clientes; la API aún no expone una operación de actualización.
+     */
+    UPDATED,
+    /**
+     * El cliente se movió a {@code customers_archive}; deja de estar disponible en las consultas de clientes vigentes.
+     */
+    ARCHIVED
+}
@@ -0,0 +1,59 @@
+package ec.com.bancointernacional.pruebatecnica.services;
+
+import com.peluware.springframework.web.problemdetails.ProblemDetails;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Marca de agua del endpoint de cambios: la fecha de modificación (o de archivado) y el identificador
+ * del último cliente entregado, que juntos ordenan de forma total las filas de {@code customers} y
+ * {@code customers_archive}.
+ *
+ * <p>
+ * Se expone a los clientes como un token opaco en Base64URL; su formato interno puede cambiar.
+ * </p>
+ *
+ * @param updatedAt fecha de modificación, o de archivado, del último cliente entregado.
+ * @param id        identificador del último cliente entregado.
+ */
+public record CustomerChangeToken(Instant updatedAt, UUID id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Interpreta un token recibido.
+     *
+     * @param token token de una respuesta anterior, o {@code null}/vacío para comenzar desde el inicio.
+     * @return la marca de agua, o {@code null} si se debe comenzar desde el inicio.
+     * @throws ProblemDetails si el token no es válido.
+     */
+    public static @Nullable CustomerChangeToken decode(@Nullable String token) {
+        if (token == null || token.isBlank()) return null;
+        try {
+            var parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split(":", 3);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Cantidad de partes inválida.");
+            }
+            var updatedAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new CustomerChangeToken(updatedAt, UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw ProblemDetails
+                    .badRequest("El token de cambios no es válido.")
+                    .extension("since", token);
+        }
+    }
+
+    /**
+     * Codifica la marca de agua como token opaco.
+     */
+    public String encode() {
+        var value = updatedAt.getEpochSecond() + ":" + updatedAt.getNano() + ":" + id;
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,129 @@
+package ec.com.bancointernacional.pruebatecnica.services;
+
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerNumberCipherProperties;
+import ec.com.bancointernacional.pruebatecnica.utils.CipherStringUtils;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cifrador del número de cliente con soporte de versiones de clave.
+ *
+ * <p>
+ * Los valores cifrados con una versión de clave se almacenan como {@code <keyId>:<cifrado>};
+ * los valores sin prefijo se consideran cifrados con la clave heredada
+ * ({@link CustomerNumberCipherProperties#getKey()}). El descifrado acepta cualquier versión
+ * configurada, mientras que el cifrado siempre usa la versión activa.
+ * </p>
+ *
+ * <p>
+ * Cada versión de clave puede tener su propio algoritmo, lo que permite migrar de
+ * "AES" (ECB) a "AES/GCM/NoPadding" agregando una nueva versión: los valores ECB existentes
+ * se siguen leyendo y el proceso de re-cifrado los convierte gradualmente a GCM.
+ * </p>
+ *
+ * <p>
+ * En GCM el identificador de la versión se autentica como dato asociado (AAD): un valor al que se
+ * le cambia el prefijo por el de otra versión no se descifra, aunque ambas versiones compartan la clave.
+ * </p>
+ */
+@Component
+public class CustomerNumberCipher {
+
+    private static final char KEY_ID_SEPARATOR = ':';
+
+    private final Map<String, ResolvedKey> keys = new HashMap<>();
+    private final ResolvedKey legacyKey;
+    private final @Nullable String activeKeyId;
+    private final ResolvedKey activeKey;
+
+    public CustomerNumberCipher(CustomerNumberCipherProperties properties) {
+        this.legacyKey = ResolvedKey.of(properties.getKey(), properties.getAlgorithm(), null);
+
+        properties.getKeys().forEach((id, version) -> {
+            if (id.indexOf(KEY_ID_SEPARATOR) >= 0) {
+                throw new IllegalStateException("El identificador de clave '" + id + "' no puede contener '" + KEY_ID_SEPARATOR + "'.");
+            }
+            var algorithm = version.getAlgorithm() != null ? version.getAlgorithm() : properties.getAlgorithm();
+            keys.put(id, ResolvedKey.of(version.getKey(), algorithm, id));
+        });
+
+        this.activeKeyId = properties.getActiveKeyId();
+        if (activeKeyId == null) {
+            this.activeKey = legacyKey;
+        } else {
+            var key = keys.get(activeKeyId);
+            if (key == null) {
+                throw new IllegalStateException("La clave activa '" + activeKeyId + "' no está configurada en customer.number.cipher.keys.");
+            }
+            this.activeKey = key;
+        }
+    }
+
+    /**
+     * Cifra el texto plano con la versión de clave activa.
+     */
+    public String cipher(String plainText) {
+        var cipherText = CipherStringUtils.cipher(plainText, activeKey.key(), activeKey.algorithm(), activeKey.associatedData());
+        return activeKeyId == null ? cipherText : activeKeyId + KEY_ID_SEPARATOR + cipherText;
+    }
+
+    /**
+     * Descifra un valor almacenado con cualquiera de las versiones de clave configuradas.
+     *
+     * @throws IllegalStateException si el valor referencia una versión de clave desconocida.
+     */
+    public String decipher(String storedValue) {
+        var separator = storedValue.indexOf(KEY_ID_SEPARATOR);
+        if (separator < 0) {
+            return CipherStringUtils.decipher(storedValue, legacyKey.key(), legacyKey.algorithm(), legacyKey.associatedData());
+        }
+
+        var keyId = storedValue.substring(0, separator);
+        var key = keys.get(keyId);
+        if (key == null) {
+            throw new IllegalStateException("Versión de clave desconocida: '" + keyId + "'.");
+        }
+        return CipherStringUtils.decipher(storedValue.substring(separator + 1), key.key(), key.algorithm(), key.associatedData());
+    }
+
+    /**
+     * Identificador de la versión de clave activa, o {@code null} si se usa la clave heredada.
+     */
+    public @Nullable String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * Prefijo de los valores cifrados con la versión activa, o {@code null} si se usa la clave heredada.
+     */
+    public @Nullable String getActivePrefix() {
+        return activeKeyId == null ? null : activeKeyId + KEY_ID_SEPARATOR;
+    }
+
+    /**
+     * Indica si el valor almacenado ya está cifrado con la versión de clave activa.
+     */
+    public boolean isCurrent(String storedValue) {
+        var prefix = getActivePrefix();
+        return prefix == null
+                ? storedValue.indexOf(KEY_ID_SEPARATOR) < 0
+                : storedValue.startsWith(prefix);
+    }
+
+    /**
+     * Clave construida una única vez para no repetir su creación en cada operación, junto con el
+     * identificador de su versión como dato asociado ({@code null} para la clave heredada).
+     */
+    private record ResolvedKey(SecretKey key, String algorithm, byte @Nullable [] associatedData) {
+
+        static ResolvedKey of(String key, String algorithm, @Nullable String keyId) {
+            var associatedData = keyId == null ? null : keyId.getBytes(StandardCharsets.UTF_8);
+            return new ResolvedKey(CipherStringUtils.secretKey(key, algorithm), algorithm, associatedData);
+        }
+    }
+}
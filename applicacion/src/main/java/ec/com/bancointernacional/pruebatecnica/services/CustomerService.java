@@ -3,29 +3,90 @@ package ec.com.bancointernacional.pruebatecnica.services;
 import com.peluware.omnisearch.OmniSearchOptions;
 import com.peluware.omnisearch.jpa.JpaOmniSearch;
 import com.peluware.springframework.web.problemdetails.ProblemDetails;
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerAdmissionProperties;
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerChangesProperties;
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerLookupProperties;
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerBatchLookupResponse;
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerChangesResponse;
 import ec.com.bancointernacional.pruebatecnica.dto.CustomerResponse;
+import ec.com.bancointernacional.pruebatecnica.entities.ArchivedCustomer;
 import ec.com.bancointernacional.pruebatecnica.entities.Customer;
+import ec.com.bancointernacional.pruebatecnica.entities.CustomerView;
+import ec.com.bancointernacional.pruebatecnica.jfr.CustomerLookupEvent;
+import ec.com.bancointernacional.pruebatecnica.jfr.CustomerNumberDecryptionEvent;
+import ec.com.bancointernacional.pruebatecnica.jfr.CustomerSearchEvent;
+import ec.com.bancointernacional.pruebatecnica.jfr.SequenceFetchEvent;
+import ec.com.bancointernacional.pruebatecnica.mappers.CustomerFieldSelection;
 import ec.com.bancointernacional.pruebatecnica.mappers.CustomerMapper;
+import ec.com.bancointernacional.pruebatecnica.outbox.CustomerOutboxWriter;
+import ec.com.bancointernacional.pruebatecnica.schemas.CustomerEventType;
 import ec.com.bancointernacional.pruebatecnica.utils.PeluwareDomainAdapters;
+import ec.com.bancointernacional.pruebatecnica.utils.RsqlQueries;
+import ec.com.bancointernacional.pruebatecnica.utils.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
 @Slf4j
 @Service
 @Validated
-public class CustomerService {
+public class CustomerService implements MeterBinder {
 
     private final EntityManager entityManager;
     private final JpaOmniSearch omniSearch;
+    private final CustomerOutboxWriter outboxWriter;
+    private final CustomerLookupProperties lookupProperties;
+    private final IdentificationNumberFilter identificationNumberFilter;
+    private final CustomerAdmissionProperties admissionProperties;
+    private final CustomerChangesProperties changesProperties;
+
+    /**
+     * Agrupa búsquedas y consultas por identificación idénticas y simultáneas en una sola
+     * consulta a la base de datos (incluido el descifrado y mapeo del resultado).
+     */
+    private final SingleFlight<PageKey, Page<CustomerResponse>> pageFlights;
+    private final SingleFlight<LookupKey, CustomerResponse> lookupFlights;
+    private final LongAdder lateCommits = new LongAdder();
 
-    public CustomerService(EntityManager entityManager) {
+    public CustomerService(
+            EntityManager entityManager,
+            CustomerOutboxWriter outboxWriter,
+            CustomerLookupProperties lookupProperties,
+            IdentificationNumberFilter identificationNumberFilter,
+            CustomerAdmissionProperties admissionProperties,
+            CustomerChangesProperties changesProperties
+    ) {
         this.entityManager = entityManager;
         this.omniSearch = new JpaOmniSearch(entityManager);
+        this.outboxWriter = outboxWriter;
+        this.lookupProperties = lookupProperties;
+        this.identificationNumberFilter = identificationNumberFilter;
+        this.admissionProperties = admissionProperties;
+        this.changesProperties = changesProperties;
+        this.pageFlights = new SingleFlight<>(lookupProperties.getCoalescingMaxWait());
+        this.lookupFlights = new SingleFlight<>(lookupProperties.getCoalescingMaxWait());
     }
 
     /**
@@ -33,40 +94,347 @@ public class CustomerService {
      *
      * @param search   palabras clave para búsqueda general (text based search)
      * @param query    filtros específicos en formato rsql
-     * @param pageable paginación y ordenamiento
+     * @param fields          campos a incluir en la respuesta separados por comas, o {@code null} para todos
+     * @param includeArchived incluir los clientes archivados ({@code customers_archive}) en la búsqueda
+     * @param pageable        paginación y ordenamiento
      * @return Página de respuestas de clientes que coinciden con los criterios de búsqueda.
      */
-    public Page<CustomerResponse> page(String search, String query, Pageable pageable) {
+    public Page<CustomerResponse> page(@Nullable String search, @Nullable String query, @Nullable String fields, boolean includeArchived, Pageable pageable) {
+
+        log.debug("Buscando clientes con search='{}', query='{}', fields='{}', includeArchived={}, pageable={}", search, query, fields, includeArchived, pageable);
+
+        var selection = CustomerFieldSelection.parse(fields);
+        var key = new PageKey(normalize(search), normalize(query), selection, includeArchived, pageable);
+        checkSearchBudget(key);
+
+        return pageFlights.execute(key, () -> {
+            var event = new CustomerSearchEvent();
+            event.begin();
 
-        log.debug("Buscando clientes con search='{}', query='{}', pageable={}", search, query, pageable);
+            // Las fases solo se miden si el evento está habilitado en la grabación
+            var timed = event.isEnabled();
+            var start = timed ? System.nanoTime() : 0L;
+            // Por defecto solo se consulta la tabla de clientes vigentes; la vista incluye también los archivados
+            var page = key.includeArchived()
+                    ? search(CustomerView.class, key).map(CustomerView::toCustomer)
+                    : search(Customer.class, key);
+            var queried = timed ? System.nanoTime() : 0L;
+            decryptNumbers(page.getContent(), selection, "search");
+            var decrypted = timed ? System.nanoTime() : 0L;
+            var response = page.map(customer -> CustomerMapper.toResponse(customer, selection));
 
-        var page = PeluwareDomainAdapters.adaptToSpringPage(pageable, (pagination, sort) ->
+            if (event.shouldCommit()) {
+                event.setTextSearch(key.search() != null);
+                event.setIncludeArchived(key.includeArchived());
+                event.setQueryShape(key.query() == null ? null : RsqlQueries.shape(key.query()));
+                event.setFields(selection.toString());
+                event.setPageNumber(response.getNumber());
+                event.setPageSize(response.getSize());
+                event.setRows(response.getNumberOfElements());
+                event.setTotalElements(response.getTotalElements());
+                event.setQueryDuration(queried - start);
+                event.setDecryptionDuration(decrypted - queried);
+                event.setMappingDuration(System.nanoTime() - decrypted);
+                event.commit();
+            }
+            return response;
+        });
+    }
+
+    private <T> Page<T> search(Class<T> entityClass, PageKey key) {
+        return PeluwareDomainAdapters.adaptToSpringPage(key.pageable(), (pagination, sort) ->
                 // La implementacion de jpa de omniSearch se encarga de construir la consulta dinamica mediante la api criteria de JPA
-                omniSearch.page(Customer.class, new OmniSearchOptions()
-                        .search(search)
-                        .query(query)
+                omniSearch.page(entityClass, new OmniSearchOptions()
+                        .search(key.search())
+                        .query(key.query())
                         .pagination(pagination)
                         .sort(sort)
                 )
         );
-
-        return page.map(CustomerMapper::toResponse);
     }
 
-    public CustomerResponse getByIdentificationNumber(@NotNull String identificationNumber) {
+    public CustomerResponse getByIdentificationNumber(@NotNull String identificationNumber, @Nullable String fields) {
 
         log.debug("Obteniendo cliente con número de identificación='{}'", identificationNumber);
 
-        var customer = entityManager.createQuery("SELECT c FROM Customer c WHERE c.identificationNumber = :identificationNumber", Customer.class)
-                .setParameter("identificationNumber", identificationNumber)
-                .getResultStream()
-                .findFirst()
-                .orElseThrow(() -> ProblemDetails
-                        .notFound("Cliente no encontrado.")
-                        .extension("identificationNumber", identificationNumber)
-                );
+        var selection = CustomerFieldSelection.parse(fields);
+
+        var event = new CustomerLookupEvent();
+        event.begin();
 
-        return CustomerMapper.toResponse(customer);
+        var missed = !identificationNumberFilter.mightContain(identificationNumber);
+        var filtered = missed && identificationNumberFilter.trustsMisses();
+        CustomerResponse response = null;
+        try {
+            if (filtered) {
+                throw notFound(identificationNumber);
+            }
+
+            response = lookupFlights.execute(new LookupKey(identificationNumber, selection), () -> {
+                var customer = entityManager.createQuery("SELECT c FROM Customer c WHERE c.identificationNumber = :identificationNumber", Customer.class)
+                        .setParameter("identificationNumber", identificationNumber)
+                        .getResultStream()
+                        .findFirst()
+                        .or(() -> findArchived(List.of(identificationNumber)).stream().findFirst())
+                        .orElseThrow(() -> notFound(identificationNumber));
+
+                // El cliente se registró fuera de esta instancia después de construir el filtro
+                if (missed) {
+                    identificationNumberFilter.recordStaleMiss(identificationNumber);
+                }
+                return CustomerMapper.toResponse(customer, selection);
+            });
+            return response;
+        } finally {
+            if (event.shouldCommit()) {
+                event.setRequested(1);
+                event.setFiltered(filtered ? 1 : 0);
+                event.setFound(response == null ? 0 : 1);
+                event.setFields(selection.toString());
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Resuelve varios clientes por número de identificación con consultas {@code IN} por bloques,
+     * en lugar de una consulta por cliente. Los números que no corresponden a clientes vigentes se
+     * buscan también entre los archivados, igual que en {@link #getByIdentificationNumber(String, String)}.
+     *
+     * @param identificationNumbers números a resolver, como máximo {@code customer.lookup.batch-max-size} incluidos
+     *                              los duplicados, que se resuelven una sola vez.
+     * @param fields                campos a incluir en la respuesta separados por comas, o {@code null} para todos
+     * @return clientes encontrados y números no encontrados, ambos en el orden de la solicitud.
+     */
+    public CustomerBatchLookupResponse getByIdentificationNumbers(List<String> identificationNumbers, @Nullable String fields) {
+
+        // El límite se aplica a la solicitud tal como llega, antes de gastar memoria en quitar duplicados
+        if (identificationNumbers.size() > lookupProperties.getBatchMaxSize()) {
+            throw ProblemDetails
+                    .badRequest("Se excedió la cantidad máxima de números de identificación por solicitud.")
+                    .extension("maxSize", lookupProperties.getBatchMaxSize());
+        }
+        var requested = new LinkedHashSet<>(identificationNumbers);
+
+        log.debug("Obteniendo {} clientes por número de identificación", requested.size());
+
+        var selection = CustomerFieldSelection.parse(fields);
+
+        var event = new CustomerLookupEvent();
+        event.begin();
+
+        var pending = new ArrayList<String>(requested.size());
+        var missed = new HashSet<String>();
+        for (var identificationNumber : requested) {
+            if (identificationNumberFilter.mightContain(identificationNumber)) {
+                pending.add(identificationNumber);
+            } else if (!identificationNumberFilter.trustsMisses()) {
+                // Un descarte solo indica que el filtro no conoce el número, se confirma con la base de datos
+                missed.add(identificationNumber);
+                pending.add(identificationNumber);
+            }
+        }
+        var customers = new HashMap<String, Customer>(pending.size() * 2);
+        var chunkSize = lookupProperties.getBatchChunkSize();
+
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            var chunk = pending.subList(from, Math.min(from + chunkSize, pending.size()));
+            entityManager.createQuery("SELECT c FROM Customer c WHERE c.identificationNumber IN :identificationNumbers", Customer.class)
+                    .setParameter("identificationNumbers", chunk)
+                    .getResultList()
+                    .forEach(customer -> customers.putIfAbsent(customer.getIdentificationNumber(), customer));
+        }
+
+        var notCurrent = pending.stream().filter(identificationNumber -> !customers.containsKey(identificationNumber)).toList();
+        for (int from = 0; from < notCurrent.size(); from += chunkSize) {
+            findArchived(notCurrent.subList(from, Math.min(from + chunkSize, notCurrent.size())))
+                    .forEach(customer -> customers.putIfAbsent(customer.getIdentificationNumber(), customer));
+        }
+
+        for (var identificationNumber : missed) {
+            if (customers.containsKey(identificationNumber)) {
+                identificationNumberFilter.recordStaleMiss(identificationNumber);
+            }
+        }
+
+        decryptNumbers(customers.values(), selection, "batch-lookup");
+
+        var found = new ArrayList<CustomerResponse>(customers.size());
+        var missing = new ArrayList<String>();
+        for (var identificationNumber : requested) {
+            var customer = customers.get(identificationNumber);
+            if (customer == null) {
+                missing.add(identificationNumber);
+            } else {
+                found.add(CustomerMapper.toResponse(customer, selection));
+            }
+        }
+
+        if (event.shouldCommit()) {
+            event.setRequested(requested.size());
+            event.setFiltered(requested.size() - pending.size());
+            event.setFound(found.size());
+            event.setFields(selection.toString());
+            event.commit();
+        }
+
+        return CustomerBatchLookupResponse.builder()
+                .found(found)
+                .missing(missing)
+                .build();
+    }
+
+    /**
+     * Obtiene los clientes creados o modificados después de la marca de agua indicada, ordenados por
+     * fecha de modificación e identificador. La paginación es por conjunto de claves, por lo que el
+     * costo de cada página no depende de cuántos cambios se hayan leído antes.
+     *
+     * <p>
+     * Los clientes archivados después de la marca de agua se informan por identificador en
+     * {@link CustomerChangesResponse#getArchived()}, intercalados con los cambios según su fecha de archivado.
+     * </p>
+     *
+     * @param since  token {@code nextToken} de una respuesta anterior, o {@code null} para comenzar desde el inicio
+     * @param size   cantidad máxima de cambios a devolver, o {@code null} para usar el valor por defecto
+     * @param fields campos a incluir en la respuesta separados por comas, o {@code null} para todos
+     * @return los cambios y el token para continuar.
+     */
+    public CustomerChangesResponse changes(@Nullable String since, @Nullable Integer size, @Nullable String fields) {
+
+        log.debug("Obteniendo cambios de clientes con since='{}', size={}, fields='{}'", since, size, fields);
+
+        var selection = CustomerFieldSelection.parse(fields);
+        var watermark = CustomerChangeToken.decode(since);
+        var limit = size != null ? size : changesProperties.getDefaultPageSize();
+        if (limit < 1 || limit > changesProperties.getMaxPageSize()) {
+            throw ProblemDetails
+                    .badRequest("El tamaño de página de cambios no es válido.")
+                    .extension("maxPageSize", changesProperties.getMaxPageSize());
+        }
+
+        // Los cambios más recientes que el margen de seguridad se entregan en una solicitud posterior; el
+        // horizonte usa el mismo reloj que asigna updated_at y archived_at, el de la base de datos
+        var horizon = entityManager.createQuery("SELECT CURRENT_INSTANT", Instant.class)
+                .getSingleResult()
+                .minus(changesProperties.getSafetyLag());
+
+        var customers = changedSince(Customer.class, "updatedAt", watermark, horizon, limit + 1);
+        var archived = changedSince(ArchivedCustomer.class, "archivedAt", watermark, horizon, limit + 1);
+
+        // Ambas listas están ordenadas por (fecha, id): se intercalan hasta completar la página
+        var changes = new ArrayList<Customer>(Math.min(limit, customers.size()));
+        var archivedIds = new ArrayList<UUID>();
+        CustomerChangeToken last = null;
+        int c = 0, a = 0;
+        while (changes.size() + archivedIds.size() < limit && (c < customers.size() || a < archived.size())) {
+            var customer = c < customers.size() ? customers.get(c) : null;
+            var tombstone = a < archived.size() ? archived.get(a) : null;
+            if (tombstone == null || (customer != null && compareChanges(customer.getUpdatedAt(), customer.getId(), tombstone.getArchivedAt(), tombstone.getId()) < 0)) {
+                changes.add(customer);
+                last = new CustomerChangeToken(customer.getUpdatedAt(), customer.getId());
+                c++;
+            } else {
+                archivedIds.add(tombstone.getId());
+                last = new CustomerChangeToken(tombstone.getArchivedAt(), tombstone.getId());
+                a++;
+            }
+        }
+        var hasMore = c < customers.size() || a < archived.size();
+
+        decryptNumbers(changes, selection, "changes");
+
+        String nextToken;
+        if (last == null) {
+            nextToken = since != null ? since : "";
+        } else {
+            nextToken = last.encode();
+        }
+
+        return CustomerChangesResponse.builder()
+                .changes(changes.stream().map(customer -> CustomerMapper.toResponse(customer, selection)).toList())
+                .archived(archivedIds)
+                .nextToken(nextToken)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Filas de la entidad indicada cuya fecha es posterior a la marca de agua y anterior al horizonte,
+     * ordenadas por fecha e identificador.
+     */
+    private <T> List<T> changedSince(Class<T> entityClass, String timestamp, @Nullable CustomerChangeToken watermark, Instant horizon, int maxResults) {
+        var entity = entityClass.getSimpleName();
+        var query = watermark == null
+                ? entityManager.createQuery("SELECT e FROM %1$s e WHERE e.%2$s < :horizon ORDER BY e.%2$s, e.id".formatted(entity, timestamp), entityClass)
+                : entityManager.createQuery("""
+                                SELECT e FROM %1$s e
+                                WHERE e.%2$s >= :since AND (e.%2$s > :since OR e.id > :id) AND e.%2$s < :horizon
+                                ORDER BY e.%2$s, e.id""".formatted(entity, timestamp), entityClass)
+                        .setParameter("since", watermark.updatedAt())
+                        .setParameter("id", watermark.id());
+
+        return query
+                .setParameter("horizon", horizon)
+                .setMaxResults(maxResults)
+                .getResultList();
+    }
+
+    /**
+     * Compara dos cambios por fecha e identificador, con los UUID ordenados como en la base de datos
+     * (bytes sin signo), que no coincide con {@link UUID#compareTo(UUID)}.
+     */
+    private static int compareChanges(Instant at, UUID id, Instant otherAt, UUID otherId) {
+        var byTime = at.compareTo(otherAt);
+        if (byTime != 0) return byTime;
+        var byHigh = Long.compareUnsigned(id.getMostSignificantBits(), otherId.getMostSignificantBits());
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(id.getLeastSignificantBits(), otherId.getLeastSignificantBits());
+    }
+
+    /**
+     * Registra un nuevo cliente junto con su evento {@link CustomerEventType#CREATED} en el outbox,
+     * ambos en la misma transacción.
+     *
+     * @param customer cliente a registrar.
+     * @return el cliente gestionado, con su identificador asignado.
+     */
+    @Transactional
+    public Customer create(Customer customer) {
+        entityManager.persist(customer);
+        outboxWriter.append(customer, CustomerEventType.CREATED);
+        identificationNumberFilter.put(customer.getIdentificationNumber());
+        checkCommitWithinSafetyLag(customer);
+        return customer;
+    }
+
+    /**
+     * Al confirmar la transacción, verifica que la fecha de modificación asignada al cliente no sea más
+     * antigua que {@code customer.changes.safety-lag}. Si lo es, un consumidor de {@code /changes} pudo haber
+     * avanzado su token más allá de esa fecha antes de la confirmación y no recibirá el cambio.
+     *
+     * <p>
+     * La fecha de modificación viene del reloj de la base de datos y se compara con el de la aplicación,
+     * para no agregar una consulta por alta; la diferencia entre ambos relojes se suma a la demora medida.
+     * </p>
+     */
+    private void checkCommitWithinSafetyLag(Customer customer) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                var updatedAt = customer.getUpdatedAt();
+                if (updatedAt == null) return;
+
+                var elapsed = Duration.between(updatedAt, Instant.now());
+                if (elapsed.compareTo(changesProperties.getSafetyLag()) > 0) {
+                    lateCommits.increment();
+                    log.warn(
+                            "El cliente {} se confirmó {} ms después de su fecha de modificación, más que el margen de seguridad de cambios ({} ms); puede no entregarse en /changes",
+                            customer.getId(), elapsed.toMillis(), changesProperties.getSafetyLag().toMillis()
+                    );
+                }
+            }
+        });
     }
 
     /**
@@ -77,9 +445,142 @@ public class CustomerService {
      */
     public long nextCustomerNumber() {
         log.debug("Obteniendo el siguiente número de cliente desde la secuencia de base de datos.");
-        return ((Number) entityManager
+
+        var event = new SequenceFetchEvent();
+        event.begin();
+
+        var value = ((Number) entityManager
                 .createNativeQuery("SELECT nextval('customer_number_seq')")
                 .getSingleResult())
                 .longValue();
+
+        if (event.shouldCommit()) {
+            event.setSequence("customer_number_seq");
+            event.commit();
+        }
+        return value;
+    }
+
+    /**
+     * Cantidad de búsquedas paginadas que reutilizaron una consulta idéntica en curso.
+     */
+    public long getCoalescedPageRequests() {
+        return pageFlights.getCoalesced();
+    }
+
+    /**
+     * Cantidad de consultas por identificación que reutilizaron una consulta idéntica en curso.
+     */
+    public long getCoalescedLookupRequests() {
+        return lookupFlights.getCoalesced();
+    }
+
+    /**
+     * Cantidad de escrituras confirmadas después del margen de seguridad de la consulta de cambios.
+     */
+    public long getLateCommits() {
+        return lateCommits.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindFlights(registry, "search", pageFlights);
+        bindFlights(registry, "lookup", lookupFlights);
+        FunctionCounter.builder("customer.changes.late.commits", this, CustomerService::getLateCommits)
+                .description("Escrituras confirmadas después del margen de seguridad de la consulta de cambios")
+                .register(registry);
+    }
+
+    private static void bindFlights(MeterRegistry registry, String operation, SingleFlight<?, ?> flights) {
+        FunctionCounter.builder("customer.coalesced.requests", flights, SingleFlight::getCoalesced)
+                .description("Solicitudes que esperaron una consulta idéntica en curso")
+                .tag("operation", operation)
+                .register(registry);
+        FunctionCounter.builder("customer.coalesced.timeouts", flights, SingleFlight::getTimedOut)
+                .description("Solicitudes que dejaron de esperar una consulta idéntica en curso y la ejecutaron por su cuenta")
+                .tag("operation", operation)
+                .register(registry);
+        FunctionCounter.builder("customer.coalesced.executions", flights, SingleFlight::getExecutions)
+                .description("Consultas ejecutadas en la base de datos")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    /**
+     * Rechaza las búsquedas que exceden el tamaño de página o la complejidad permitida,
+     * antes de construir y ejecutar la consulta.
+     */
+    private void checkSearchBudget(PageKey key) {
+        if (key.pageable().isPaged() && key.pageable().getPageSize() > admissionProperties.getMaxPageSize()) {
+            throw ProblemDetails
+                    .badRequest("El tamaño de página excede el máximo permitido.")
+                    .extension("maxPageSize", admissionProperties.getMaxPageSize());
+        }
+
+        var maxLength = admissionProperties.getMaxQueryLength();
+        if ((key.search() != null && key.search().length() > maxLength) || (key.query() != null && key.query().length() > maxLength)) {
+            throw ProblemDetails
+                    .badRequest("Los criterios de búsqueda exceden la longitud máxima permitida.")
+                    .extension("maxQueryLength", maxLength);
+        }
+
+        if (key.query() != null && RsqlQueries.countComparisons(key.query()) > admissionProperties.getMaxQueryComparisons()) {
+            throw ProblemDetails
+                    .badRequest("La consulta excede la cantidad máxima de comparaciones permitidas.")
+                    .extension("maxQueryComparisons", admissionProperties.getMaxQueryComparisons());
+        }
+    }
+
+    /**
+     * Descifra los números de cliente de un conjunto de resultados antes de mapearlos, de modo que el
+     * descifrado se registre como una fase propia; no hace nada si {@code number} no fue seleccionado.
+     */
+    private static void decryptNumbers(Collection<Customer> customers, CustomerFieldSelection selection, String origin) {
+        if (customers.isEmpty() || !selection.includes("number")) return;
+
+        var event = new CustomerNumberDecryptionEvent();
+        event.begin();
+
+        for (var customer : customers) {
+            if (customer.getNumber() != null) customer.getNumber().get();
+        }
+
+        if (event.shouldCommit()) {
+            event.setOrigin(origin);
+            event.setValues(customers.size());
+            event.commit();
+        }
+    }
+
+    /**
+     * Clientes archivados con alguno de los números de identificación indicados, para las consultas por
+     * identificación que no los encuentran entre los vigentes. La condición sobre {@code archived} limita
+     * la consulta a {@code customers_archive}, con el índice {@code idx_customers_archive_identification_number}.
+     */
+    private List<Customer> findArchived(List<String> identificationNumbers) {
+        return entityManager.createQuery("SELECT v FROM CustomerView v WHERE v.archived = true AND v.identificationNumber IN :identificationNumbers", CustomerView.class)
+                .setParameter("identificationNumbers", identificationNumbers)
+                .getResultList()
+                .stream()
+                .map(CustomerView::toCustomer)
+                .toList();
+    }
+
+    private static ProblemDetails notFound(String identificationNumber) {
+        return ProblemDetails
+                .notFound("Cliente no encontrado.")
+                .extension("identificationNumber", identificationNumber);
+    }
+
+    private static @Nullable String normalize(@Nullable String value) {
+        if (value == null) return null;
+        var trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private record PageKey(@Nullable String search, @Nullable String query, CustomerFieldSelection fields, boolean includeArchived, Pageable pageable) {
+    }
+
+    private record LookupKey(String identificationNumber, CustomerFieldSelection fields) {
     }
 }
@@ -0,0 +1,299 @@
+package ec.com.bancointernacional.pruebatecnica.services;
+
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerChangesProperties;
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerLookupProperties;
+import ec.com.bancointernacional.pruebatecnica.utils.BloomFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro en memoria de los números de identificación de clientes existentes, usado para
+ * evitar consultas a la base de datos por números que no existen.
+ *
+ * <p>
+ * Se construye al iniciar la aplicación recorriendo la columna {@code identification_number} de los
+ * clientes vigentes y archivados (vista {@code customers_all}, ya que la consulta por identificación
+ * también responde con los archivados) en modo streaming, se actualiza con cada cliente registrado mediante {@link #put(String)} y se
+ * reconstruye periódicamente. Mientras no esté construido (o si está deshabilitado) considera que
+ * cualquier número puede existir.
+ * </p>
+ *
+ * <p>
+ * Para conocer las altas hechas por otras réplicas o directamente en la base de datos, el filtro se
+ * actualiza cada {@code customer.lookup.negative-filter.refresh-interval} con los clientes modificados
+ * desde la última actualización, con el mismo criterio que la consulta de cambios: se leen las filas con
+ * {@code updated_at} posterior a la marca de agua menos {@code customer.changes.safety-lag}, para incluir
+ * las transacciones confirmadas tarde. Un descarte se responde como "no encontrado" sin consultar la base
+ * de datos solo mientras la última actualización tenga como máximo
+ * {@code customer.lookup.negative-filter.max-staleness} de antigüedad ({@link #trustsMisses()}); si no,
+ * se confirma con la base de datos y los números confirmados se agregan con {@link #recordStaleMiss(String)}.
+ * </p>
+ *
+ * <p>
+ * Para no perder números registrados durante una reconstrucción, cada alta se agrega también a una
+ * bitácora; al finalizar la reconstrucción se reaplican los números de la bitácora anterior, que
+ * cubren las transacciones confirmadas después de iniciar el recorrido.
+ * </p>
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class IdentificationNumberFilter implements MeterBinder {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CustomerLookupProperties.NegativeFilter properties;
+    private final CustomerChangesProperties changesProperties;
+
+    private volatile @Nullable BloomFilter active;
+    private volatile @Nullable BloomFilter building;
+    private volatile Queue<String> journal = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Mayor fecha de modificación incluida en el filtro.
+     */
+    private @Nullable Instant watermark;
+
+    /**
+     * Momento ({@link System#nanoTime()}) de la última construcción o actualización completa.
+     */
+    private volatile long refreshedAt;
+
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleMisses = new LongAdder();
+
+    public IdentificationNumberFilter(
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            CustomerLookupProperties properties,
+            CustomerChangesProperties changesProperties
+    ) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.properties = properties.getNegativeFilter();
+        this.changesProperties = changesProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${customer.lookup.negative-filter.rebuild-interval:PT6H}",
+            fixedDelayString = "${customer.lookup.negative-filter.rebuild-interval:PT6H}"
+    )
+    public void scheduledRebuild() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${customer.lookup.negative-filter.refresh-interval:PT1S}",
+            fixedDelayString = "${customer.lookup.negative-filter.refresh-interval:PT1S}"
+    )
+    public void scheduledRefresh() {
+        if (!properties.isEnabled()) return;
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("No se pudo actualizar el filtro de números de identificación, los descartes se confirmarán con la base de datos: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Indica si el número de identificación posiblemente pertenece a un cliente.
+     * {@code false} indica que el filtro no lo conoce, lo que no descarta un alta posterior a su última actualización.
+     */
+    public boolean mightContain(String identificationNumber) {
+        var filter = active;
+        if (filter == null || filter.mightContain(identificationNumber)) {
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Indica si un descarte del filtro se puede responder como "no encontrado" sin confirmarlo con la base
+     * de datos, es decir, si la última actualización no supera {@code customer.lookup.negative-filter.max-staleness}.
+     */
+    public boolean trustsMisses() {
+        return active != null && System.nanoTime() - refreshedAt <= properties.getMaxStaleness().toNanos();
+    }
+
+    /**
+     * Registra un número descartado por el filtro que sí existe en la base de datos.
+     */
+    public void recordStaleMiss(String identificationNumber) {
+        staleMisses.increment();
+        log.debug("El filtro de números de identificación descartó un cliente existente, se agrega al filtro");
+        put(identificationNumber);
+    }
+
+    /**
+     * Registra el número de identificación de un cliente nuevo o actualizado.
+     */
+    public void put(String identificationNumber) {
+        if (!properties.isEnabled()) return;
+
+        // El orden importa: la bitácora primero y luego el filtro en construcción, para que
+        // ningún alta concurrente a una reconstrucción quede fuera del nuevo filtro.
+        journal.add(identificationNumber);
+
+        var next = building;
+        if (next != null) next.put(identificationNumber);
+
+        var filter = active;
+        if (filter != null) filter.put(identificationNumber);
+    }
+
+    /**
+     * Reconstruye el filtro a partir de la base de datos y lo reemplaza de forma atómica.
+     */
+    public synchronized void rebuild() {
+        var start = System.nanoTime();
+
+        var count = readOnlyTransaction.execute(status ->
+                entityManager.createQuery("SELECT COUNT(v) FROM CustomerView v", Long.class).getSingleResult()
+        );
+        // Las modificaciones posteriores a esta fecha se leen en la siguiente actualización
+        var scannedUpTo = readOnlyTransaction.execute(status ->
+                entityManager.createQuery("SELECT MAX(c.updatedAt) FROM Customer c", Instant.class).getSingleResult()
+        );
+        var expected = Math.max(properties.getExpectedInsertions(), count == null ? 0 : count * 2);
+        var filter = BloomFilter.create(expected, properties.getFalsePositiveRate());
+
+        building = filter;
+        var previousJournal = journal;
+        journal = new ConcurrentLinkedQueue<>();
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (var numbers = entityManager.createQuery("SELECT v.identificationNumber FROM CustomerView v", String.class)
+                    .setHint("org.hibernate.fetchSize", properties.getScanFetchSize())
+                    .setHint("org.hibernate.readOnly", true)
+                    .getResultStream()) {
+                numbers.forEach(filter::put);
+            }
+        });
+
+        previousJournal.forEach(filter::put);
+        active = filter;
+        building = null;
+        watermark = scannedUpTo;
+        refreshedAt = System.nanoTime();
+
+        log.info(
+                "Filtro de números de identificación construido en {} ms: {} valores, {} KiB, {} funciones hash, falsos positivos estimados {}",
+                (System.nanoTime() - start) / 1_000_000,
+                filter.getInsertions(),
+                filter.getSizeInBytes() / 1024,
+                filter.getHashFunctions(),
+                String.format("%.4f", filter.getEstimatedFalsePositiveRate())
+        );
+    }
+
+    /**
+     * Agrega al filtro los números de los clientes modificados desde la última construcción o actualización.
+     *
+     * @return cantidad de números leídos.
+     */
+    public synchronized int refresh() {
+        var filter = active;
+        if (filter == null) return 0;
+
+        var since = watermark == null ? Instant.EPOCH : watermark.minus(changesProperties.getSafetyLag());
+        var rows = readOnlyTransaction.execute(status ->
+                entityManager.createQuery("SELECT c.identificationNumber, c.updatedAt FROM Customer c WHERE c.updatedAt > :since", Object[].class)
+                        .setParameter("since", since)
+                        .getResultList()
+        );
+
+        if (rows != null) {
+            for (var row : rows) {
+                filter.put((String) row[0]);
+                var updatedAt = (Instant) row[1];
+                if (watermark == null || updatedAt.isAfter(watermark)) watermark = updatedAt;
+            }
+        }
+        refreshedAt = System.nanoTime();
+        return rows == null ? 0 : rows.size();
+    }
+
+    /**
+     * Tiempo transcurrido desde la última construcción o actualización del filtro en segundos,
+     * o {@code NaN} si aún no se construye.
+     */
+    public double getStalenessSeconds() {
+        return active == null ? Double.NaN : (System.nanoTime() - refreshedAt) / 1e9;
+    }
+
+    /**
+     * Cantidad de números descartados por el filtro.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Cantidad de números descartados por el filtro que luego se encontraron en la base de datos.
+     */
+    public long getStaleMisses() {
+        return staleMisses.sum();
+    }
+
+    /**
+     * Memoria ocupada por el filtro activo en bytes, o {@code 0} si aún no se construye.
+     */
+    public long getSizeInBytes() {
+        var filter = active;
+        return filter == null ? 0 : filter.getSizeInBytes();
+    }
+
+    /**
+     * Tasa de falsos positivos estimada del filtro activo, o {@code 1} si aún no se construye.
+     */
+    public double getEstimatedFalsePositiveRate() {
+        var filter = active;
+        return filter == null ? 1 : filter.getEstimatedFalsePositiveRate();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("customer.lookup.filter.misses", this, IdentificationNumberFilter::getMisses)
+                .description("Números de identificación descartados por el filtro")
+                .register(registry);
+        FunctionCounter.builder("customer.lookup.filter.stale.misses", this, IdentificationNumberFilter::getStaleMisses)
+                .description("Números descartados por el filtro que existían en la base de datos")
+                .register(registry);
+        Gauge.builder("customer.lookup.filter.staleness", this, IdentificationNumberFilter::getStalenessSeconds)
+                .description("Tiempo desde la última actualización del filtro")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("customer.lookup.filter.size", this, IdentificationNumberFilter::getSizeInBytes)
+                .description("Memoria ocupada por el filtro")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
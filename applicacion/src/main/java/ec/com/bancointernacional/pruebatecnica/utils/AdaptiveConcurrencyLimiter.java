@@ -0,0 +1,131 @@
+package ec.com.bancointernacional.pruebatecnica.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Límite de concurrencia adaptativo basado en el gradiente de latencia.
+ *
+ * <p>
+ * Compara la latencia mínima observada (latencia "sin carga") con la latencia de cada solicitud:
+ * mientras ambas se mantienen similares el límite crece, y cuando la latencia aumenta porque las
+ * solicitudes empiezan a encolarse (hilos, conexiones, base de datos) el límite se reduce. Las
+ * solicitudes que exceden el límite se rechazan de inmediato en lugar de esperar.
+ * </p>
+ *
+ * <pre>
+ * gradiente   = clamp(rttSinCarga / rtt, 0.5, 1.0)
+ * nuevoLímite = límite * gradiente + sqrt(límite)
+ * </pre>
+ *
+ * <p>
+ * La latencia sin carga se reinicia para adaptarse a cambios del sistema, pero solo después de
+ * 1000 muestras y cuando hay poca concurrencia: reiniciarla bajo carga
+ * tomaría como referencia una latencia que ya incluye la espera en cola y el límite dejaría de reducirse.
+ * </p>
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final int NO_LOAD_RTT_RESET_SAMPLES = 1000;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    private double estimatedLimit;
+    private long noLoadRttNanos = Long.MAX_VALUE;
+    private int samples;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Límites de concurrencia inválidos para '" + name + "'.");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Intenta reservar un espacio; si se obtiene, se debe llamar a {@link #release(long)} al finalizar.
+     *
+     * @return {@code true} si la solicitud fue admitida.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            var current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el espacio reservado y ajusta el límite con la latencia observada.
+     *
+     * @param rttNanos duración de la solicitud en nanosegundos.
+     */
+    public void release(long rttNanos) {
+        var inFlightAtRelease = inFlight.getAndDecrement();
+        update(Math.max(1, rttNanos), inFlightAtRelease);
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtRelease) {
+        // Con poca concurrencia la latencia no indica saturación, no se ajusta el límite
+        var lowConcurrency = inFlightAtRelease * 2 < estimatedLimit;
+
+        if (samples < NO_LOAD_RTT_RESET_SAMPLES) {
+            samples++;
+        }
+        if (samples >= NO_LOAD_RTT_RESET_SAMPLES && lowConcurrency) {
+            samples = 0;
+            noLoadRttNanos = rttNanos;
+        } else {
+            noLoadRttNanos = Math.min(noLoadRttNanos, rttNanos);
+        }
+
+        if (lowConcurrency) {
+            return;
+        }
+
+        var gradient = Math.max(0.5, Math.min(1.0, (double) noLoadRttNanos / rttNanos));
+        var newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, (1 - SMOOTHING) * estimatedLimit + SMOOTHING * newLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Límite de concurrencia vigente.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Solicitudes en curso.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Total de solicitudes rechazadas por exceder el límite.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,150 @@
+package ec.com.bancointernacional.pruebatecnica.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom para cadenas, seguro para uso concurrente.
+ *
+ * <p>
+ * Permite responder "definitivamente no está" o "posiblemente está" usando una fracción de la
+ * memoria que ocuparía el conjunto completo. Nunca produce falsos negativos para valores agregados;
+ * la tasa de falsos positivos depende del tamaño y de la cantidad de valores agregados.
+ * </p>
+ *
+ * <h2>Ejemplo de uso</h2>
+ * <pre>{@code
+ * var filter = BloomFilter.create(1_000_000, 0.01);
+ * filter.put("2300826357");
+ * filter.mightContain("2300826357"); // true
+ * filter.mightContain("0000000000"); // false (con alta probabilidad)
+ * }</pre>
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashFunctions;
+    private final LongAdder insertions = new LongAdder();
+
+    private BloomFilter(long bitSize, int hashFunctions) {
+        this.words = new AtomicLongArray(Math.toIntExact((bitSize + 63) / 64));
+        this.bitSize = words.length() * 64L;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Crea un filtro dimensionado para la cantidad esperada de valores y la tasa de falsos positivos objetivo.
+     *
+     * @param expectedInsertions cantidad esperada de valores, mayor a cero.
+     * @param falsePositiveRate  tasa de falsos positivos objetivo, entre 0 y 1 (exclusivo).
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("La cantidad esperada de valores debe ser mayor a cero.");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("La tasa de falsos positivos debe estar entre 0 y 1.");
+        }
+        var bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        var hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * Math.log(2)));
+        return new BloomFilter(Math.max(64, bits), hashes);
+    }
+
+    /**
+     * Agrega un valor al filtro.
+     */
+    public void put(CharSequence value) {
+        var hash = hash(value);
+        var h1 = mix(hash);
+        var h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            setBit(Long.remainderUnsigned(h1 + i * h2, bitSize));
+        }
+        insertions.increment();
+    }
+
+    /**
+     * Indica si el valor posiblemente fue agregado; {@code false} garantiza que nunca se agregó.
+     */
+    public boolean mightContain(CharSequence value) {
+        var hash = hash(value);
+        var h1 = mix(hash);
+        var h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashFunctions; i++) {
+            if (!getBit(Long.remainderUnsigned(h1 + i * h2, bitSize))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cantidad de bits del filtro.
+     */
+    public long getBitSize() {
+        return bitSize;
+    }
+
+    /**
+     * Memoria aproximada ocupada por el filtro, en bytes.
+     */
+    public long getSizeInBytes() {
+        return bitSize / 8;
+    }
+
+    /**
+     * Cantidad de funciones hash aplicadas por valor.
+     */
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+
+    /**
+     * Cantidad de valores agregados (incluyendo repetidos).
+     */
+    public long getInsertions() {
+        return insertions.sum();
+    }
+
+    /**
+     * Tasa de falsos positivos estimada según la cantidad de valores agregados.
+     */
+    public double getEstimatedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashFunctions * (double) getInsertions() / bitSize), hashFunctions);
+    }
+
+    private void setBit(long index) {
+        var word = (int) (index >>> 6);
+        var mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) return;
+        } while (!words.compareAndSet(word, current, current | mask));
+    }
+
+    private boolean getBit(long index) {
+        return (words.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+
+    private static long hash(CharSequence value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Función de mezcla final de MurmurHash3 para distribuir los bits del hash.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
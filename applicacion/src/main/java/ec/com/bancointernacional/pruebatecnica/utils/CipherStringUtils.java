@@ -1,11 +1,17 @@
 package ec.com.bancointernacional.pruebatecnica.utils;
 
 import lombok.experimental.UtilityClass;
+import org.jspecify.annotations.Nullable;
 
 import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Locale;
 
 /**
  * Utilidad para realizar operaciones de cifrado y descifrado simétrico de cadenas,
@@ -23,6 +29,19 @@ import java.util.Base64;
  * String plain = CipherStringUtils.decipher(encrypted, "1234567890123456", "AES");
  * }</pre>
  *
+ * <h2>Modo GCM</h2>
+ * <p>
+ * Si el algoritmo usa el modo GCM (por ejemplo "AES/GCM/NoPadding") se genera un nonce aleatorio
+ * de 12 bytes por valor y se obtiene cifrado autenticado: valores iguales producen textos cifrados
+ * distintos y cualquier alteración se detecta al descifrar. El resultado se codifica en
+ * Base64URL sin relleno con el formato {@code nonce || cifrado || tag}. En el resto de modos
+ * se mantiene el formato Base64 estándar.
+ * </p>
+ * <p>
+ * En GCM se pueden indicar además datos asociados (AAD): no se cifran ni se incluyen en el resultado,
+ * pero quedan autenticados por el tag, de modo que el descifrado falla si no se entregan los mismos.
+ * </p>
+ *
  * <p>
  * Nota: Es responsabilidad del usuario asegurar que el algoritmo y el tamaño de clave
  * sean compatibles. Por ejemplo, "AES" requiere claves de 16, 24 o 32 bytes.
@@ -31,54 +50,156 @@ import java.util.Base64;
 @UtilityClass
 public final class CipherStringUtils {
 
+    private static final int GCM_NONCE_LENGTH = 12;
+    private static final int GCM_TAG_LENGTH_BITS = 128;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     /**
      * Cifra el texto plano usando el algoritmo y clave especificados.
      *
      * @param plainText el texto sin cifrar que se desea proteger.
      * @param keyString la clave utilizada para el cifrado; se convierte en bytes y se limpia
      *                  de memoria al finalizar.
-     * @param algorithm el nombre del algoritmo de cifrado (por ejemplo: "AES", "AES/ECB/PKCS5Padding").
+     * @param algorithm el nombre del algoritmo de cifrado (por ejemplo: "AES", "AES/ECB/PKCS5Padding",
+     *                  "AES/GCM/NoPadding").
      *
-     * @return el texto cifrado codificado en Base64.
+     * @return el texto cifrado codificado en Base64 (Base64URL para GCM).
      *
      * @throws RuntimeException si ocurre cualquier error durante el proceso de cifrado.
      */
     public static String cipher(String plainText, String keyString, String algorithm) {
         var key = keyString.getBytes();
+        try {
+            return cipher(plainText, new SecretKeySpec(key, keyAlgorithm(algorithm)), algorithm);
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    /**
+     * Cifra el texto plano usando una clave ya construida, evitando reconstruirla en cada operación.
+     *
+     * @see #cipher(String, String, String)
+     */
+    public static String cipher(String plainText, SecretKey key, String algorithm) {
+        return cipher(plainText, key, algorithm, null);
+    }
+
+    /**
+     * Cifra el texto plano autenticando además los datos asociados indicados.
+     *
+     * @param associatedData datos asociados (AAD) a autenticar en modo GCM, o {@code null} para no usar;
+     *                       en el resto de modos se ignoran.
+     * @see #cipher(String, String, String)
+     */
+    public static String cipher(String plainText, SecretKey key, String algorithm, byte @Nullable [] associatedData) {
         try {
             Cipher cipher = Cipher.getInstance(algorithm);
-            cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, algorithm));
+            if (isGcm(algorithm)) {
+                var nonce = new byte[GCM_NONCE_LENGTH];
+                RANDOM.nextBytes(nonce);
+                cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, nonce));
+                if (associatedData != null) cipher.updateAAD(associatedData);
+
+                var plain = plainText.getBytes(StandardCharsets.UTF_8);
+                var output = new byte[GCM_NONCE_LENGTH + cipher.getOutputSize(plain.length)];
+                System.arraycopy(nonce, 0, output, 0, GCM_NONCE_LENGTH);
+                cipher.doFinal(plain, 0, plain.length, output, GCM_NONCE_LENGTH);
+                return Base64.getUrlEncoder().withoutPadding().encodeToString(output);
+            }
+            cipher.init(Cipher.ENCRYPT_MODE, key);
             return Base64.getEncoder().encodeToString(cipher.doFinal(plainText.getBytes()));
         } catch (Exception e) {
             throw new RuntimeException("Error al cifrar", e);
-        } finally {
-            Arrays.fill(key, (byte) 0);
         }
     }
 
     /**
      * Descifra un texto previamente cifrado con el algoritmo y clave especificados.
      *
-     * @param cipherText el texto cifrado codificado en Base64.
+     * @param cipherText el texto cifrado codificado en Base64 (Base64URL para GCM).
      * @param keyString  la clave utilizada para descifrar; se convierte en bytes y se limpia
      *                   de memoria al finalizar.
-     * @param algorithm  el nombre del algoritmo de cifrado (por ejemplo: "AES", "AES/ECB/PKCS5Padding").
+     * @param algorithm  el nombre del algoritmo de cifrado (por ejemplo: "AES", "AES/ECB/PKCS5Padding",
+     *                   "AES/GCM/NoPadding").
      *
      * @return el texto descifrado en su forma original.
      *
      * @throws RuntimeException si ocurre cualquier error durante el proceso de descifrado,
-     *                          incluyendo claves o algoritmos inválidos.
+     *                          incluyendo claves o algoritmos inválidos, o un valor alterado en GCM.
      */
     public static String decipher(String cipherText, String keyString, String algorithm) {
         var key = keyString.getBytes();
+        try {
+            return decipher(cipherText, new SecretKeySpec(key, keyAlgorithm(algorithm)), algorithm);
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    /**
+     * Descifra un texto usando una clave ya construida, evitando reconstruirla en cada operación.
+     *
+     * @see #decipher(String, String, String)
+     */
+    public static String decipher(String cipherText, SecretKey key, String algorithm) {
+        return decipher(cipherText, key, algorithm, null);
+    }
+
+    /**
+     * Descifra un texto verificando además los datos asociados con los que fue cifrado.
+     *
+     * @param associatedData datos asociados (AAD) usados al cifrar en modo GCM, o {@code null} si no se usaron;
+     *                       en el resto de modos se ignoran.
+     * @throws RuntimeException si los datos asociados no coinciden con los usados al cifrar.
+     * @see #decipher(String, String, String)
+     */
+    public static String decipher(String cipherText, SecretKey key, String algorithm, byte @Nullable [] associatedData) {
         try {
             Cipher cipher = Cipher.getInstance(algorithm);
-            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(key, algorithm));
+            if (isGcm(algorithm)) {
+                var input = Base64.getUrlDecoder().decode(cipherText);
+                cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, input, 0, GCM_NONCE_LENGTH));
+                if (associatedData != null) cipher.updateAAD(associatedData);
+                var plain = cipher.doFinal(input, GCM_NONCE_LENGTH, input.length - GCM_NONCE_LENGTH);
+                return new String(plain, StandardCharsets.UTF_8);
+            }
+            cipher.init(Cipher.DECRYPT_MODE, key);
             return new String(cipher.doFinal(Base64.getDecoder().decode(cipherText)));
         } catch (Exception e) {
             throw new RuntimeException("Error al descifrar", e);
+        }
+    }
+
+    /**
+     * Construye la clave para el algoritmo indicado. El llamador es responsable de su ciclo de vida.
+     *
+     * @param keyString la clave en forma de cadena.
+     * @param algorithm el nombre del algoritmo o transformación (por ejemplo: "AES/GCM/NoPadding").
+     * @return la clave lista para usarse con {@link #cipher(String, SecretKey, String)}.
+     */
+    public static SecretKey secretKey(String keyString, String algorithm) {
+        var key = keyString.getBytes();
+        try {
+            return new SecretKeySpec(key, keyAlgorithm(algorithm));
         } finally {
             Arrays.fill(key, (byte) 0);
         }
     }
+
+    /**
+     * Indica si la transformación usa el modo GCM.
+     */
+    public static boolean isGcm(String algorithm) {
+        return algorithm.toUpperCase(Locale.ROOT).contains("/GCM/");
+    }
+
+    /**
+     * Obtiene el nombre del algoritmo de la clave a partir de la transformación,
+     * por ejemplo "AES" para "AES/ECB/PKCS5Padding".
+     */
+    private static String keyAlgorithm(String algorithm) {
+        var slash = algorithm.indexOf('/');
+        return slash < 0 ? algorithm : algorithm.substring(0, slash);
+    }
 }
@@ -4,47 +4,117 @@ import lombok.experimental.UtilityClass;
 
 import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Generador de documentos de identificación ecuatorianos válidos, usado para datos de prueba.
+ *
+ * <p>
+ * Los dígitos se escriben directamente en un {@code char[]} y los verificadores se calculan con
+ * las mismas reglas de {@link EcuadorIdentifications}, por lo que la única asignación es la
+ * cadena resultante.
+ * </p>
+ */
 @UtilityClass
 public class EcuadorIdGenerator {
 
     public static String generateCedula() {
         var random = ThreadLocalRandom.current();
+        var chars = new char[EcuadorIdentifications.CI_LENGTH];
+        fillNaturalPersonCi(chars, random);
+        return new String(chars);
+    }
 
-        var provincia = random.nextInt(1, 25); // 01 - 24
-        var tercerDigito = random.nextInt(0, 6); // 0-5 personas naturales
-
-        var base = String.format("%02d%d", provincia, tercerDigito);
+    /**
+     * Genera un RUC de persona natural: cédula válida seguida del establecimiento {@code 001}.
+     */
+    public static String generateRucPersonaNatural() {
+        var random = ThreadLocalRandom.current();
+        var chars = new char[EcuadorIdentifications.RUC_LENGTH];
+        fillNaturalPersonCi(chars, random);
+        chars[10] = '0';
+        chars[11] = '0';
+        chars[12] = '1';
+        return new String(chars);
+    }
 
-        // generar los siguientes 6 dígitos
-        var sb = new StringBuilder(base);
-        for (int i = 0; i < 6; i++) {
-            sb.append(random.nextInt(0, 10));
-        }
+    /**
+     * Genera un RUC de entidad pública (tercer dígito 6) con establecimiento {@code 0001}.
+     */
+    public static String generateRucEntidadPublica() {
+        var random = ThreadLocalRandom.current();
+        var chars = new char[EcuadorIdentifications.RUC_LENGTH];
 
-        // calcular dígito verificador
-        var verificador = calcularDigitoVerificador(sb.toString());
-        sb.append(verificador);
+        int check;
+        do {
+            fillProvince(chars, random);
+            chars[2] = '6';
+            var sum = 0;
+            for (int i = 0; i < 8; i++) {
+                if (i > 2) chars[i] = randomDigit(random);
+                sum += (chars[i] - '0') * EcuadorIdentifications.publicCoefficient(i);
+            }
+            check = EcuadorIdentifications.mod11CheckDigit(sum);
+        } while (check < 0);
 
-        return sb.toString();
+        chars[8] = (char) ('0' + check);
+        chars[9] = '0';
+        chars[10] = '0';
+        chars[11] = '0';
+        chars[12] = '1';
+        return new String(chars);
     }
 
-    private static int calcularDigitoVerificador(String nineDigits) {
-        var suma = 0;
-        for (int i = 0; i < nineDigits.length(); i++) {
-            int dig = nineDigits.charAt(i) - '0';
+    /**
+     * Genera un RUC de sociedad privada (tercer dígito 9) con establecimiento {@code 001}.
+     */
+    public static String generateRucSociedadPrivada() {
+        var random = ThreadLocalRandom.current();
+        var chars = new char[EcuadorIdentifications.RUC_LENGTH];
 
-            // posiciones impares (0,2,4,6,8)
-            if (i % 2 == 0) {
-                dig = dig * 2;
-                if (dig > 9) dig -= 9;
+        int check;
+        do {
+            fillProvince(chars, random);
+            chars[2] = '9';
+            var sum = 0;
+            for (int i = 0; i < 9; i++) {
+                if (i > 2) chars[i] = randomDigit(random);
+                sum += (chars[i] - '0') * EcuadorIdentifications.privateCoefficient(i);
             }
+            check = EcuadorIdentifications.mod11CheckDigit(sum);
+        } while (check < 0);
+
+        chars[9] = (char) ('0' + check);
+        chars[10] = '0';
+        chars[11] = '0';
+        chars[12] = '1';
+        return new String(chars);
+    }
+
+    /**
+     * Escribe una cédula válida en las 10 primeras posiciones del arreglo.
+     */
+    private static void fillNaturalPersonCi(char[] chars, ThreadLocalRandom random) {
+        fillProvince(chars, random);
+        chars[2] = (char) ('0' + random.nextInt(0, 6)); // 0-5 personas naturales
 
-            suma += dig;
+        // generar los siguientes 6 dígitos y acumular la suma del verificador
+        var sum = EcuadorIdentifications.ciWeightedDigit(0, chars[0] - '0')
+                + EcuadorIdentifications.ciWeightedDigit(1, chars[1] - '0')
+                + EcuadorIdentifications.ciWeightedDigit(2, chars[2] - '0');
+        for (int i = 3; i < 9; i++) {
+            chars[i] = randomDigit(random);
+            sum += EcuadorIdentifications.ciWeightedDigit(i, chars[i] - '0');
         }
 
-        var decena = ((suma + 9) / 10) * 10;
-        var verificador = decena - suma;
+        chars[9] = (char) ('0' + EcuadorIdentifications.mod10CheckDigit(sum));
+    }
+
+    private static void fillProvince(char[] chars, ThreadLocalRandom random) {
+        var provincia = random.nextInt(1, 25); // 01 - 24
+        chars[0] = (char) ('0' + provincia / 10);
+        chars[1] = (char) ('0' + provincia % 10);
+    }
 
-        return verificador == 10 ? 0 : verificador;
+    private static char randomDigit(ThreadLocalRandom random) {
+        return (char) ('0' + random.nextInt(0, 10));
     }
 }
@@ -0,0 +1,189 @@
+package ec.com.bancointernacional.pruebatecnica.utils;
+
+import ec.com.bancointernacional.pruebatecnica.schemas.IdentificationType;
+import lombok.experimental.UtilityClass;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Validación de documentos de identificación ecuatorianos (cédula y RUC).
+ *
+ * <p>
+ * Trabaja directamente sobre {@link CharSequence} y calcula los dígitos verificadores con
+ * aritmética de enteros, sin crear subcadenas ni objetos intermedios, ya que se ejecuta en cada
+ * persistencia/actualización de {@code Customer} y en la generación de datos.
+ * </p>
+ *
+ * <h2>Reglas</h2>
+ * <ul>
+ *     <li><b>Cédula</b>: 10 dígitos, provincia 01-24 o 30, tercer dígito 0-5 y verificador módulo 10.</li>
+ *     <li><b>RUC persona natural</b> (tercer dígito 0-5): cédula válida seguida de un establecimiento distinto de {@code 000}.</li>
+ *     <li><b>RUC entidad pública</b> (tercer dígito 6): verificador módulo 11 en la posición 9 y establecimiento de 4 dígitos distinto de {@code 0000}.</li>
+ *     <li><b>RUC sociedad privada</b> (tercer dígito 9): verificador módulo 11 en la posición 10 y establecimiento distinto de {@code 000}.</li>
+ * </ul>
+ */
+@UtilityClass
+public final class EcuadorIdentifications {
+
+    public static final int CI_LENGTH = 10;
+    public static final int RUC_LENGTH = 13;
+
+    private static final int[] PUBLIC_COEFFICIENTS = {3, 2, 7, 6, 5, 4, 3, 2};
+    private static final int[] PRIVATE_COEFFICIENTS = {4, 3, 2, 7, 6, 5, 4, 3, 2};
+
+    /**
+     * Valida un número según el tipo de identificación; los pasaportes no tienen validación específica.
+     */
+    public static boolean isValid(IdentificationType type, CharSequence value) {
+        return switch (type) {
+            case CI -> isValidCi(value);
+            case RUC -> isValidRuc(value);
+            case PASSPORT -> true;
+        };
+    }
+
+    /**
+     * Valida un lote de números de un mismo tipo, por ejemplo durante una carga masiva de clientes.
+     *
+     * @return las posiciones de los valores inválidos; vacío si todos son válidos.
+     */
+    public static BitSet findInvalid(IdentificationType type, List<? extends CharSequence> values) {
+        var invalid = new BitSet(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            if (!isValid(type, values.get(i))) {
+                invalid.set(i);
+            }
+        }
+        return invalid;
+    }
+
+    /**
+     * Valida una cédula de identidad.
+     */
+    public static boolean isValidCi(CharSequence value) {
+        return value.length() == CI_LENGTH && allDigits(value, CI_LENGTH) && isValidNaturalPersonCi(value);
+    }
+
+    /**
+     * Valida un RUC de persona natural, entidad pública o sociedad privada.
+     */
+    public static boolean isValidRuc(CharSequence value) {
+        if (value.length() != RUC_LENGTH || !allDigits(value, RUC_LENGTH)) {
+            return false;
+        }
+
+        var thirdDigit = digit(value, 2);
+        if (thirdDigit < 6) {
+            return isValidNaturalPersonCi(value) && !allZeros(value, 10, RUC_LENGTH);
+        }
+        if (thirdDigit == 6) {
+            return hasValidProvince(value)
+                    && digit(value, 8) == mod11CheckDigit(value, PUBLIC_COEFFICIENTS)
+                    && !allZeros(value, 9, RUC_LENGTH);
+        }
+        if (thirdDigit == 9) {
+            return hasValidProvince(value)
+                    && digit(value, 9) == mod11CheckDigit(value, PRIVATE_COEFFICIENTS)
+                    && !allZeros(value, 10, RUC_LENGTH);
+        }
+        return false;
+    }
+
+    /**
+     * Aporte de un dígito de la cédula a la suma del verificador módulo 10: las posiciones
+     * pares se multiplican por 2 y, si el resultado es mayor que 9, se le resta 9.
+     *
+     * @param position posición del dígito (0-8).
+     * @param digit    valor del dígito (0-9).
+     */
+    public static int ciWeightedDigit(int position, int digit) {
+        if ((position & 1) == 0) {
+            var doubled = digit * 2;
+            return doubled > 9 ? doubled - 9 : doubled;
+        }
+        return digit;
+    }
+
+    /**
+     * Dígito verificador módulo 10 a partir de la suma de {@link #ciWeightedDigit(int, int)}.
+     */
+    public static int mod10CheckDigit(int sum) {
+        var remainder = sum % 10;
+        return remainder == 0 ? 0 : 10 - remainder;
+    }
+
+    /**
+     * Dígito verificador módulo 11 a partir de la suma ponderada; devuelve {@code -1}
+     * si el residuo no admite verificador válido.
+     */
+    public static int mod11CheckDigit(int sum) {
+        var remainder = sum % 11;
+        if (remainder == 0) return 0;
+        var check = 11 - remainder;
+        return check == 10 ? -1 : check;
+    }
+
+    /**
+     * Coeficientes del verificador módulo 11 para el RUC de entidades públicas (tercer dígito 6).
+     */
+    public static int publicCoefficient(int position) {
+        return PUBLIC_COEFFICIENTS[position];
+    }
+
+    /**
+     * Coeficientes del verificador módulo 11 para el RUC de sociedades privadas (tercer dígito 9).
+     */
+    public static int privateCoefficient(int position) {
+        return PRIVATE_COEFFICIENTS[position];
+    }
+
+    /**
+     * Indica si el código de provincia es válido: 01-24, o 30 para ecuatorianos registrados en el exterior.
+     */
+    public static boolean isValidProvince(int province) {
+        return (province >= 1 && province <= 24) || province == 30;
+    }
+
+    private static boolean isValidNaturalPersonCi(CharSequence value) {
+        if (!hasValidProvince(value) || digit(value, 2) > 5) {
+            return false;
+        }
+        var sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += ciWeightedDigit(i, digit(value, i));
+        }
+        return digit(value, 9) == mod10CheckDigit(sum);
+    }
+
+    private static int mod11CheckDigit(CharSequence value, int[] coefficients) {
+        var sum = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            sum += digit(value, i) * coefficients[i];
+        }
+        return mod11CheckDigit(sum);
+    }
+
+    private static boolean hasValidProvince(CharSequence value) {
+        return isValidProvince(digit(value, 0) * 10 + digit(value, 1));
+    }
+
+    private static boolean allDigits(CharSequence value, int length) {
+        for (int i = 0; i < length; i++) {
+            var c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+
+    private static boolean allZeros(CharSequence value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (value.charAt(i) != '0') return false;
+        }
+        return true;
+    }
+
+    private static int digit(CharSequence value, int index) {
+        return value.charAt(index) - '0';
+    }
+}
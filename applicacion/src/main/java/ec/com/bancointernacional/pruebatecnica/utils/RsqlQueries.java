@@ -0,0 +1,144 @@
+package ec.com.bancointernacional.pruebatecnica.utils;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Utilidades para analizar consultas RSQL sin construir su árbol sintáctico.
+ */
+@UtilityClass
+public final class RsqlQueries {
+
+    /**
+     * Cuenta las comparaciones de una consulta RSQL, por ejemplo {@code name==Luis;account.balance=lt=1000}
+     * tiene 2. Se reconocen los operadores {@code ==}, {@code !=}, {@code <}, {@code <=}, {@code >},
+     * {@code >=} y {@code =nombre=}; el contenido entre comillas se ignora.
+     *
+     * <p>
+     * Se usa como medida del costo de la consulta que se generará, antes de ejecutarla.
+     * </p>
+     *
+     * @param query la consulta RSQL.
+     * @return la cantidad de comparaciones.
+     */
+    public static int countComparisons(CharSequence query) {
+        var count = 0;
+        var quote = (char) 0;
+        var length = query.length();
+
+        for (int i = 0; i < length; i++) {
+            var c = query.charAt(i);
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+                continue;
+            }
+            switch (c) {
+                case '\'', '"' -> quote = c;
+                case '<', '>' -> {
+                    count++;
+                    if (i + 1 < length && query.charAt(i + 1) == '=') i++;
+                }
+                case '!' -> {
+                    if (i + 1 < length && query.charAt(i + 1) == '=') {
+                        count++;
+                        i++;
+                    }
+                }
+                case '=' -> {
+                    var j = i + 1;
+                    while (j < length && Character.isLetter(query.charAt(j))) j++;
+                    if (j < length && query.charAt(j) == '=') {
+                        count++;
+                        i = j;
+                    }
+                }
+                default -> {
+                    // parte de un selector, un argumento o un operador lógico
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Obtiene la "forma" de una consulta RSQL: la misma consulta con cada argumento reemplazado
+     * por {@code ?}, por ejemplo {@code name==Luis;account.balance=lt=1000} resulta en
+     * {@code name==?;account.balance=lt=?}. Los argumentos entre paréntesis ({@code =in=(a,b)})
+     * se reemplazan por un único {@code ?}.
+     *
+     * <p>
+     * Permite agrupar consultas equivalentes en métricas o perfiles sin registrar los valores buscados.
+     * </p>
+     *
+     * @param query la consulta RSQL.
+     * @return la forma de la consulta.
+     */
+    public static String shape(CharSequence query) {
+        var length = query.length();
+        var shape = new StringBuilder(length);
+
+        var i = 0;
+        while (i < length) {
+            var operatorEnd = comparisonOperatorEnd(query, i);
+            if (operatorEnd < 0) {
+                shape.append(query.charAt(i++));
+                continue;
+            }
+            shape.append(query, i, operatorEnd).append('?');
+            i = argumentEnd(query, operatorEnd);
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Posición siguiente al operador de comparación que inicia en {@code i}, o {@code -1} si no inicia uno.
+     */
+    private static int comparisonOperatorEnd(CharSequence query, int i) {
+        var length = query.length();
+        var c = query.charAt(i);
+        if (c == '<' || c == '>') {
+            return i + 1 < length && query.charAt(i + 1) == '=' ? i + 2 : i + 1;
+        }
+        if (c == '!') {
+            return i + 1 < length && query.charAt(i + 1) == '=' ? i + 2 : -1;
+        }
+        if (c == '=') {
+            var j = i + 1;
+            while (j < length && Character.isLetter(query.charAt(j))) j++;
+            return j < length && query.charAt(j) == '=' ? j + 1 : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Posición siguiente al argumento que inicia en {@code i}: un valor entre comillas, una lista
+     * entre paréntesis o un valor sin comillas que termina en {@code ;}, {@code ,} o {@code )}.
+     */
+    private static int argumentEnd(CharSequence query, int i) {
+        var length = query.length();
+        var quote = (char) 0;
+        var depth = 0;
+
+        for (; i < length; i++) {
+            var c = query.charAt(i);
+            if (quote != 0) {
+                if (c == quote) quote = 0;
+                continue;
+            }
+            switch (c) {
+                case '\'', '"' -> quote = c;
+                case '(' -> depth++;
+                case ')' -> {
+                    if (depth == 0) return i;
+                    if (--depth == 0) return i + 1;
+                }
+                case ';', ',' -> {
+                    if (depth == 0) return i;
+                }
+                default -> {
+                    // parte del argumento
+                }
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,125 @@
+package ec.com.bancointernacional.pruebatecnica.utils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa ejecuciones concurrentes con la misma clave en una sola ("single-flight").
+ *
+ * <p>
+ * El primer llamador de una clave ejecuta la operación en su propio hilo; los llamadores que
+ * llegan mientras esa ejecución está en curso esperan y reciben el mismo resultado o la misma
+ * excepción. Una vez finalizada, la clave se libera y la siguiente llamada vuelve a ejecutar la
+ * operación, es decir, no es una caché: solo evita trabajo duplicado simultáneo.
+ * </p>
+ *
+ * <p>
+ * La espera de un llamador está acotada por {@code maxWait}: si la ejecución en curso no termina a
+ * tiempo (por ejemplo, una consulta bloqueada), el llamador deja de esperarla y ejecuta la operación
+ * por su cuenta, de modo que un solo hilo lento no retiene indefinidamente a todos los demás.
+ * </p>
+ *
+ * <h2>Ejemplo de uso</h2>
+ * <pre>{@code
+ * var flights = new SingleFlight<String, CustomerResponse>(Duration.ofSeconds(5));
+ * var customer = flights.execute(identificationNumber, () -> loadCustomer(identificationNumber));
+ * }</pre>
+ *
+ * <p>
+ * El resultado se comparte entre los llamadores, por lo que no debe modificarse.
+ * </p>
+ *
+ * @param <K> tipo de la clave, debe implementar {@code equals} y {@code hashCode}.
+ * @param <V> tipo del resultado.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final long maxWaitNanos;
+
+    /**
+     * @param maxWait tiempo máximo que un llamador espera una ejecución en curso antes de ejecutar la operación por su cuenta.
+     */
+    public SingleFlight(Duration maxWait) {
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Ejecuta la operación, o espera el resultado de una ejecución en curso con la misma clave.
+     *
+     * @param key       clave que identifica operaciones equivalentes.
+     * @param operation operación a ejecutar si no hay una en curso.
+     * @return el resultado de la operación.
+     * @throws CompletionException si el hilo se interrumpe mientras espera una ejecución en curso.
+     */
+    public V execute(K key, Supplier<V> operation) {
+        var future = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            coalesced.increment();
+            try {
+                return await(existing);
+            } catch (TimeoutException e) {
+                timedOut.increment();
+                executions.increment();
+                return operation.get();
+            }
+        }
+
+        executions.increment();
+        try {
+            var value = operation.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Cantidad de operaciones realmente ejecutadas.
+     */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /**
+     * Cantidad de llamadas que esperaron una ejecución en curso, incluidas las que dejaron de esperarla.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Cantidad de llamadas que dejaron de esperar una ejecución en curso y ejecutaron la operación por su cuenta.
+     */
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    private V await(CompletableFuture<V> future) throws TimeoutException {
+        try {
+            return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException("Se interrumpió la espera de una ejecución en curso.", e);
+        }
+    }
+}
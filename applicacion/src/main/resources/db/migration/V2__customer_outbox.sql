@@ -0,0 +1,14 @@
+CREATE SEQUENCE customer_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE customer_outbox
+(
+    id           BIGINT                   NOT NULL,
+    customer_id  UUID                     NOT NULL,
+    event_type   SMALLINT                 NOT NULL,
+    payload      TEXT                     NOT NULL,
+    created_at   TIMESTAMP WITH TIME ZONE NOT NULL,
+    published_at TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT pk_customer_outbox PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_customer_outbox_pending ON customer_outbox (published_at, id);
@@ -0,0 +1,7 @@
+ALTER TABLE customers
+    ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL;
+
+ALTER TABLE customers
+    ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+CREATE INDEX idx_customers_updated_at_id ON customers (updated_at, id);
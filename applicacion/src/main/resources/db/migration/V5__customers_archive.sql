@@ -0,0 +1,29 @@
+CREATE TABLE customers_archive
+(
+    id                    UUID                     NOT NULL,
+    name                  VARCHAR(255)             NOT NULL,
+    number                VARCHAR(255)             NOT NULL,
+    identification_number VARCHAR(15)              NOT NULL,
+    identification_type   SMALLINT                 NOT NULL,
+    account_number        VARCHAR(20)              NOT NULL,
+    account_type          SMALLINT                 NOT NULL,
+    account_balance       DECIMAL                  NOT NULL,
+    account_status        SMALLINT                 NOT NULL,
+    updated_at            TIMESTAMP WITH TIME ZONE NOT NULL,
+    version               BIGINT                   NOT NULL,
+    archived_at           TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_customers_archive PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_customers_archive_identification_number ON customers_archive (identification_number);
+
+CREATE INDEX idx_customers_archive_archived_at_id ON customers_archive (archived_at, id);
+
+CREATE VIEW customers_all AS
+SELECT id, name, number, identification_number, identification_type,
+       account_number, account_type, account_balance, account_status, updated_at, FALSE AS archived
+FROM customers
+UNION ALL
+SELECT id, name, number, identification_number, identification_type,
+       account_number, account_type, account_balance, account_status, updated_at, TRUE AS archived
+FROM customers_archive;
@@ -0,0 +1,10 @@
+CREATE TABLE job_checkpoints
+(
+    job        VARCHAR(100)             NOT NULL,
+    scope      VARCHAR(100),
+    last_id    UUID,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT pk_job_checkpoints PRIMARY KEY (job)
+);
+
+INSERT INTO job_checkpoints (job) VALUES ('customer-number-re-encryption');
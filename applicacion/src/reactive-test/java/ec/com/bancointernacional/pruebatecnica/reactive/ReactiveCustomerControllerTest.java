@@ -0,0 +1,160 @@
+package ec.com.bancointernacional.pruebatecnica.reactive;
+
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerResponse;
+import ec.com.bancointernacional.pruebatecnica.schemas.AccountStatus;
+import ec.com.bancointernacional.pruebatecnica.schemas.AccountType;
+import ec.com.bancointernacional.pruebatecnica.schemas.IdentificationType;
+import ec.com.bancointernacional.pruebatecnica.services.CustomerNumberCipher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Endpoints reactivos sobre R2DBC con H2; el esquema se crea con la primera migración de la aplicación principal.
+ */
+@SpringBootTest(
+        classes = ReactiveCustomerApplication.class,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactivedb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "spring.r2dbc.username=sa",
+                "spring.r2dbc.password=",
+                "spring.sql.init.mode=always",
+                "spring.sql.init.schema-locations=classpath:db/migration/V1__init.sql"
+        }
+)
+@ActiveProfiles("reactive")
+class ReactiveCustomerControllerTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private CustomerNumberCipher cipher;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToApplicationContext(context).build();
+
+        databaseClient.sql("DELETE FROM customers").then().block();
+        insert("Luis Vasquez", "100001", "2300826357", "100000000001");
+        insert("Ana Torres", "100002", "1710034065", "100000000002");
+        insert("Carlos Mena", "100003", "0100000009", "100000000003");
+    }
+
+    @Test
+    void shouldReturnPagedCustomersWithSelectedFields() {
+        client.get().uri("/api/customers?size=2&sort=name&fields=name")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.content[0].name").isEqualTo("Ana Torres")
+                .jsonPath("$.content[0].number").doesNotExist()
+                .jsonPath("$.page.totalElements").isEqualTo(3);
+    }
+
+    @Test
+    void shouldReturnCustomerByIdentificationNumber() {
+        client.get().uri("/api/customers/identification/2300826357")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CustomerResponse.class)
+                .value(customer -> {
+                    assertThat(customer.getName()).isEqualTo("Luis Vasquez");
+                    assertThat(customer.getNumber()).isEqualTo("100001");
+                });
+    }
+
+    @Test
+    void shouldReturnProblemDetailsForUnknownIdentificationNumbers() {
+        client.get().uri("/api/customers/identification/0000000000")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.identificationNumber").isEqualTo("0000000000");
+    }
+
+    @Test
+    void shouldReturnProblemDetailsForUnknownFields() {
+        client.get().uri("/api/customers?fields=name,password")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.field").isEqualTo("password");
+    }
+
+    @Test
+    void shouldReturnProblemDetailsForPagesOverTheMaximumSize() {
+        client.get().uri("/api/customers?size=201")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.maxPageSize").isEqualTo(200);
+    }
+
+    @Test
+    void shouldReturnProblemDetailsForUnknownSortProperties() {
+        client.get().uri("/api/customers?sort=password")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.sort").isEqualTo("password");
+    }
+
+    @Test
+    void shouldExportAllCustomersAsNdjson() {
+        var customers = client.get().uri("/api/customers/export?fields=identificationNumber,number")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(CustomerResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(customers)
+                .extracting(CustomerResponse::getNumber)
+                .containsExactlyInAnyOrder("100001", "100002", "100003");
+    }
+
+    private void insert(String name, String number, String identificationNumber, String accountNumber) {
+        databaseClient.sql("""
+                        INSERT INTO customers (id, name, number, identification_number, identification_type,
+                                               account_number, account_type, account_balance, account_status)
+                        VALUES (:id, :name, :number, :identificationNumber, :identificationType,
+                                :accountNumber, :accountType, :accountBalance, :accountStatus)
+                        """)
+                .bind("id", UUID.randomUUID())
+                .bind("name", name)
+                .bind("number", cipher.cipher(number))
+                .bind("identificationNumber", identificationNumber)
+                .bind("identificationType", (short) IdentificationType.CI.ordinal())
+                .bind("accountNumber", accountNumber)
+                .bind("accountType", (short) AccountType.SAVINGS.ordinal())
+                .bind("accountBalance", BigDecimal.TEN)
+                .bind("accountStatus", (short) AccountStatus.ACTIVE.ordinal())
+                .then()
+                .block();
+    }
+}
@@ -0,0 +1,38 @@
+package ec.com.bancointernacional.pruebatecnica.reactive;
+
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerNumberCipherProperties;
+import ec.com.bancointernacional.pruebatecnica.services.CustomerNumberCipher;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.flyway.autoconfigure.FlywayAutoConfiguration;
+import org.springframework.boot.hibernate.autoconfigure.HibernateJpaAutoConfiguration;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Aplicación reactiva (WebFlux + R2DBC) con los endpoints de consulta de clientes.
+ *
+ * <p>
+ * Solo escanea el paquete {@code reactive} y reutiliza del resto de la aplicación el cifrador del
+ * número de cliente, el DTO {@link ec.com.bancointernacional.pruebatecnica.dto.CustomerResponse} y su
+ * mapper. No usa JPA, JDBC ni Flyway: las migraciones las aplica la aplicación principal.
+ * </p>
+ */
+@SpringBootApplication(
+        scanBasePackageClasses = ReactiveCustomerApplication.class,
+        exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class, FlywayAutoConfiguration.class}
+)
+@Import({CustomerNumberCipherProperties.class, CustomerNumberCipher.class})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE) // evita que la aplicación principal la procese al escanear
+public class ReactiveCustomerApplication {
+
+    public static void main(String... args) {
+        // La aplicación principal (webmvc) también está en el classpath, por lo que el tipo se fija explícitamente
+        new SpringApplicationBuilder(ReactiveCustomerApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+}
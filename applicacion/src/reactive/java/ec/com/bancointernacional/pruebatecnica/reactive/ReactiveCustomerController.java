@@ -0,0 +1,56 @@
+package ec.com.bancointernacional.pruebatecnica.reactive;
+
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/customers")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerController {
+
+    private final ReactiveCustomerService service;
+
+    /**
+     * Búsqueda paginada de clientes, con el mismo formato de respuesta que la aplicación principal.
+     */
+    @GetMapping
+    public Mono<PagedModel<CustomerResponse>> page(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String fields,
+            Pageable pageable
+    ) {
+        return service.page(search, fields, pageable).map(PagedModel::new);
+    }
+
+    /**
+     * Obtiene un cliente por su número de identificación (cédula/pasaporte).
+     */
+    @GetMapping("/identification/{identificationNumber}")
+    public Mono<CustomerResponse> getByIdentificationNumber(
+            @PathVariable String identificationNumber,
+            @RequestParam(required = false) String fields
+    ) {
+        return service.getByIdentificationNumber(identificationNumber, fields);
+    }
+
+    /**
+     * Exporta todos los clientes como JSON delimitado por líneas (un cliente por línea),
+     * enviados a medida que se leen de la base de datos.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerResponse> export(@RequestParam(required = false) String fields) {
+        return service.export(fields);
+    }
+}
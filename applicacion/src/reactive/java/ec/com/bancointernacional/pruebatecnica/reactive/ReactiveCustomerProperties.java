@@ -0,0 +1,24 @@
+package ec.com.bancointernacional.pruebatecnica.reactive;
+
+import lombok.Data;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Data
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConfigurationProperties(prefix = "customer.reactive")
+public class ReactiveCustomerProperties {
+
+    /**
+     * Tamaño máximo de página aceptado en la búsqueda paginada; los tamaños mayores se rechazan con 400.
+     */
+    private int maxPageSize = 200;
+
+    /**
+     * Cantidad de filas que el driver solicita a la base de datos por cada lote durante la exportación.
+     * Las filas se piden a medida que el cliente HTTP las consume, por lo que acota la memoria por conexión.
+     */
+    private int exportFetchSize = 500;
+}
@@ -0,0 +1,210 @@
+package ec.com.bancointernacional.pruebatecnica.reactive;
+
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerResponse;
+import ec.com.bancointernacional.pruebatecnica.entities.Account;
+import ec.com.bancointernacional.pruebatecnica.entities.Customer;
+import ec.com.bancointernacional.pruebatecnica.entities.LazyDecryptedString;
+import ec.com.bancointernacional.pruebatecnica.mappers.CustomerFieldSelection;
+import ec.com.bancointernacional.pruebatecnica.mappers.CustomerMapper;
+import ec.com.bancointernacional.pruebatecnica.schemas.AccountStatus;
+import ec.com.bancointernacional.pruebatecnica.schemas.AccountType;
+import ec.com.bancointernacional.pruebatecnica.schemas.IdentificationType;
+import ec.com.bancointernacional.pruebatecnica.services.CustomerNumberCipher;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.web.ErrorResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+/**
+ * Consultas de clientes sobre R2DBC, equivalentes a las de
+ * {@link ec.com.bancointernacional.pruebatecnica.services.CustomerService} pero sin bloquear hilos.
+ *
+ * <p>
+ * Las filas se convierten a {@link Customer} para reutilizar {@link CustomerMapper}: el número de
+ * cliente se carga cifrado y solo se descifra si {@code number} forma parte de la selección de campos.
+ * </p>
+ *
+ * <p>
+ * La búsqueda por texto ({@code search}) compara el nombre y el número de identificación; las
+ * consultas RSQL ({@code query}) solo están disponibles en la aplicación principal.
+ * </p>
+ *
+ * <p>
+ * Los errores se informan con {@link ErrorResponseException} y un {@link ProblemDetail} con las mismas
+ * propiedades adicionales que la aplicación principal ({@code field}, {@code maxPageSize},
+ * {@code identificationNumber}), que WebFlux serializa como {@code application/problem+json}.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerService {
+
+    private static final String SELECT_CUSTOMERS = """
+            SELECT id, name, number, identification_number, identification_type,
+                   account_number, account_type, account_balance, account_status
+            FROM customers""";
+
+    private static final String SEARCH_CONDITION = " WHERE name ILIKE :search OR identification_number LIKE :search";
+
+    /**
+     * Propiedades por las que se permite ordenar y su columna correspondiente.
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "name", "name",
+            "identificationNumber", "identification_number",
+            "identificationType", "identification_type",
+            "account.number", "account_number",
+            "account.type", "account_type",
+            "account.balance", "account_balance",
+            "account.status", "account_status"
+    );
+
+    private final DatabaseClient client;
+    private final CustomerNumberCipher cipher;
+    private final ReactiveCustomerProperties properties;
+
+    /**
+     * Búsqueda paginada de clientes.
+     *
+     * @param search texto a buscar en el nombre o número de identificación, opcional.
+     * @param fields campos a incluir en la respuesta separados por comas, opcional.
+     */
+    public Mono<Page<CustomerResponse>> page(@Nullable String search, @Nullable String fields, Pageable pageable) {
+        log.debug("Buscando clientes con search='{}', fields='{}', pageable={}", search, fields, pageable);
+
+        if (pageable.isPaged() && pageable.getPageSize() > properties.getMaxPageSize()) {
+            throw problem(HttpStatus.BAD_REQUEST, "El tamaño de página excede el máximo permitido.", "maxPageSize", properties.getMaxPageSize());
+        }
+        var selection = selection(fields);
+        var pattern = toLikePattern(search);
+        var condition = pattern == null ? "" : SEARCH_CONDITION;
+
+        var contentSpec = client.sql(SELECT_CUSTOMERS + condition + orderBy(pageable.getSort()) + " LIMIT :limit OFFSET :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset());
+        var countSpec = client.sql("SELECT COUNT(*) AS total FROM customers" + condition);
+        if (pattern != null) {
+            contentSpec = contentSpec.bind("search", pattern);
+            countSpec = countSpec.bind("search", pattern);
+        }
+
+        var content = contentSpec
+                .map(this::toCustomer)
+                .all()
+                .map(customer -> CustomerMapper.toResponse(customer, selection))
+                .collectList();
+        var total = countSpec
+                .map(row -> row.get("total", Long.class))
+                .one();
+
+        return Mono.zip(content, total, (list, count) -> new PageImpl<>(list, pageable, count));
+    }
+
+    /**
+     * Obtiene un cliente por su número de identificación.
+     */
+    public Mono<CustomerResponse> getByIdentificationNumber(String identificationNumber, @Nullable String fields) {
+        var selection = selection(fields);
+        return client.sql(SELECT_CUSTOMERS + " WHERE identification_number = :identificationNumber")
+                .bind("identificationNumber", identificationNumber)
+                .map(this::toCustomer)
+                .one()
+                .map(customer -> CustomerMapper.toResponse(customer, selection))
+                .switchIfEmpty(Mono.error(() -> problem(HttpStatus.NOT_FOUND, "Cliente no encontrado.", "identificationNumber", identificationNumber)));
+    }
+
+    /**
+     * Recorre todos los clientes ordenados por identificador.
+     *
+     * <p>
+     * El resultado respeta la contrapresión: el driver solicita filas a la base de datos en lotes de
+     * {@link ReactiveCustomerProperties#getExportFetchSize()} a medida que el suscriptor las consume,
+     * por lo que un cliente lento no provoca que el resultado completo se acumule en memoria.
+     * </p>
+     */
+    public Flux<CustomerResponse> export(@Nullable String fields) {
+        var selection = selection(fields);
+        var fetchSize = properties.getExportFetchSize();
+        return client.sql(SELECT_CUSTOMERS + " ORDER BY id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(this::toCustomer)
+                .all()
+                .limitRate(fetchSize)
+                .map(customer -> CustomerMapper.toResponse(customer, selection));
+    }
+
+    private Customer toCustomer(Readable row) {
+        var account = Account.builder()
+                .number(row.get("account_number", String.class))
+                .type(AccountType.values()[row.get("account_type", Short.class)])
+                .balance(row.get("account_balance", BigDecimal.class))
+                .status(AccountStatus.values()[row.get("account_status", Short.class)])
+                .build();
+
+        return Customer.builder()
+                .id(row.get("id", UUID.class))
+                .name(row.get("name", String.class))
+                .number(LazyDecryptedString.ofCipherText(row.get("number", String.class), cipher::decipher))
+                .identificationNumber(row.get("identification_number", String.class))
+                .identificationType(IdentificationType.values()[row.get("identification_type", Short.class)])
+                .account(account)
+                .build();
+    }
+
+    private static String orderBy(Sort sort) {
+        var columns = new StringJoiner(", ", " ORDER BY ", "");
+        for (var order : sort) {
+            var column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw problem(HttpStatus.BAD_REQUEST, "No se puede ordenar por la propiedad indicada.", "sort", order.getProperty());
+            }
+            columns.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        // El identificador como último criterio garantiza un orden estable entre páginas
+        columns.add("id");
+        return columns.toString();
+    }
+
+    private static CustomerFieldSelection selection(@Nullable String fields) {
+        var unknown = CustomerFieldSelection.findUnknownField(fields);
+        if (unknown != null) {
+            throw problem(HttpStatus.BAD_REQUEST, "Campo desconocido en el parámetro fields.", "field", unknown);
+        }
+        return CustomerFieldSelection.parse(fields);
+    }
+
+    private static ErrorResponseException problem(HttpStatus status, String detail, String property, Object value) {
+        var problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setProperty(property, value);
+        return new ErrorResponseException(status, problem, null);
+    }
+
+    private static @Nullable String toLikePattern(@Nullable String search) {
+        if (search == null || search.isBlank()) return null;
+        var escaped = search.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
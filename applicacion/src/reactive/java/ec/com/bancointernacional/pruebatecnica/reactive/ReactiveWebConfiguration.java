@@ -0,0 +1,23 @@
+package ec.com.bancointernacional.pruebatecnica.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfiguration implements WebFluxConfigurer {
+
+    /**
+     * Permite recibir {@link org.springframework.data.domain.Pageable} en los controladores,
+     * con los mismos parámetros ({@code page}, {@code size}, {@code sort}) que la aplicación principal.
+     * El tamaño máximo no se recorta aquí sino que se rechaza en {@link ReactiveCustomerService}, igual que
+     * en la aplicación principal.
+     */
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+}
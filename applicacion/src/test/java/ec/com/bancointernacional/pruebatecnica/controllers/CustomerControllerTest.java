@@ -1,6 +1,18 @@
 package ec.com.bancointernacional.pruebatecnica.controllers;
 
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerBatchLookupRequest;
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerBatchLookupResponse;
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerChangesResponse;
 import ec.com.bancointernacional.pruebatecnica.dto.CustomerResponse;
+import ec.com.bancointernacional.pruebatecnica.entities.Customer;
+import ec.com.bancointernacional.pruebatecnica.entities.CustomerFixtures;
+import ec.com.bancointernacional.pruebatecnica.entities.LazyDecryptedString;
+import ec.com.bancointernacional.pruebatecnica.jobs.CustomerArchivalJob;
+import ec.com.bancointernacional.pruebatecnica.schemas.AccountStatus;
+import ec.com.bancointernacional.pruebatecnica.schemas.CustomerEventType;
+import ec.com.bancointernacional.pruebatecnica.services.CustomerNumberCipher;
+import ec.com.bancointernacional.pruebatecnica.services.CustomerService;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.Data;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,10 +22,26 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest(
         webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
@@ -23,7 +51,8 @@ import static org.assertj.core.api.Assertions.assertThat;
                 "spring.datasource.username=sa",
                 "spring.datasource.password=",
                 "spring.jpa.show-sql=true",
-                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                "customer.changes.safety-lag=0s"
         }
 )
 @AutoConfigureTestRestTemplate
@@ -35,6 +64,27 @@ class CustomerControllerTest {
     @Autowired
     private TestRestTemplate rest;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerArchivalJob archivalJob;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @MockitoSpyBean
+    private CustomerNumberCipher customerNumberCipher;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private String url(String path) {
         return "http://localhost:" + port + path;
     }
@@ -91,6 +141,123 @@ class CustomerControllerTest {
         assertThat(foundLuis).isTrue();
     }
 
+    // ---------------------------------------------------------
+    //  TEST: GET /api/customers  con parámetro fields
+    // ---------------------------------------------------------
+    @Test
+    void shouldReturnOnlySelectedFields() {
+
+        clearInvocations(customerNumberCipher);
+
+        ResponseEntity<PageResponse<Map<String, Object>>> response = rest.exchange(
+                url("/api/customers?fields=name,account.number"),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                }
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        var page = response.getBody();
+        assertThat(page).isNotNull();
+        assertThat(page.getContent()).isNotEmpty();
+
+        // Solo deben venir los campos solicitados, el número de cliente no se descifra
+        assertThat(page.getContent()).allSatisfy(customer -> {
+            assertThat(customer).containsOnlyKeys("name", "account");
+            assertThat((Map<?, ?>) customer.get("account")).containsOnlyKeys("number");
+        });
+        verify(customerNumberCipher, never()).decipher(anyString());
+
+        // Al solicitar el número de cliente sí se descifra
+        var withNumber = rest.getForEntity(url("/api/customers?fields=name,number"), String.class);
+        assertThat(withNumber.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(customerNumberCipher, atLeastOnce()).decipher(anyString());
+    }
+
+    @Test
+    void shouldReturnAllFieldsWhenNoSelectionIsRequested() {
+
+        var customer = customerService.create(CustomerFixtures.newCustomer("Cliente Sin Seleccion"));
+
+        ResponseEntity<Map<String, Object>> response = rest.exchange(
+                url("/api/customers/identification/" + customer.getIdentificationNumber()),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                }
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsOnlyKeys("id", "name", "number", "identificationNumber", "identificationType", "account");
+        assertThat((Map<?, ?>) response.getBody().get("account")).containsOnlyKeys("number", "type", "balance", "status");
+
+        // Sin selección la forma de la respuesta no cambia: los valores nulos se serializan
+        assertThat(jsonMapper.writeValueAsString(CustomerResponse.builder().name("Cliente").build()))
+                .contains("\"number\":null", "\"account\":null");
+    }
+
+    @Test
+    void shouldFilterCustomersByNumberUsingRsql() {
+
+        var customer = CustomerFixtures.newCustomer("Cliente Rsql Numero");
+        customer.setNumber(LazyDecryptedString.of("800003"));
+        customerService.create(customer);
+
+        ResponseEntity<PageResponse<CustomerResponse>> response = rest.exchange(
+                url("/api/customers?query=number==800003"),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                }
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getContent())
+                .extracting(CustomerResponse::getId)
+                .containsExactly(customer.getId());
+    }
+
+    @Test
+    void shouldRejectUnknownFields() {
+
+        ResponseEntity<String> response = rest.getForEntity(url("/api/customers?fields=password"), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldRejectPagesOverTheMaximumSize() {
+
+        var response = rest.getForEntity(url("/api/customers?size=201"), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("maxPageSize");
+    }
+
+    @Test
+    void shouldRejectSearchCriteriaOverTheMaximumLength() {
+
+        var response = rest.getForEntity(url("/api/customers?search=" + "a".repeat(501)), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("maxQueryLength");
+    }
+
+    @Test
+    void shouldRejectQueriesOverTheMaximumComparisons() {
+
+        // 11 comparaciones, el límite es 10
+        var query = String.join(",", Collections.nCopies(11, "name==Luis"));
+
+        var response = rest.getForEntity(url("/api/customers?query=" + query), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("maxQueryComparisons");
+    }
+
     // ---------------------------------------------------------
     //  TEST: GET /api/customers/identification/{id}
     // ---------------------------------------------------------
@@ -125,6 +292,242 @@ class CustomerControllerTest {
         assertThat(response.getBody()).contains("Cliente no encontrado");
     }
 
+    // ---------------------------------------------------------
+    //  TEST: POST /api/customers/identification/batch
+    // ---------------------------------------------------------
+    @Test
+    void shouldResolveIdentificationNumbersInBatch() {
+
+        var request = CustomerBatchLookupRequest.builder()
+                .identificationNumbers(List.of("2300826357", "0000000000", "2222222222", "2300826357"))
+                .build();
+
+        ResponseEntity<CustomerBatchLookupResponse> response = rest.postForEntity(
+                url("/api/customers/identification/batch"),
+                request,
+                CustomerBatchLookupResponse.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        var body = response.getBody();
+        assertThat(body).isNotNull();
+        assertThat(body.getFound())
+                .extracting(CustomerResponse::getIdentificationNumber)
+                .containsExactly("2300826357", "2222222222");
+        assertThat(body.getMissing()).containsExactly("0000000000");
+    }
+
+    @Test
+    void shouldRejectBatchesOverTheMaximumSizeCountingDuplicates() {
+
+        // 1001 números iguales: el límite (1000) se aplica antes de quitar los duplicados
+        var request = CustomerBatchLookupRequest.builder()
+                .identificationNumbers(Collections.nCopies(1001, "2300826357"))
+                .build();
+
+        var response = rest.postForEntity(url("/api/customers/identification/batch"), request, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains("maxSize");
+    }
+
+    // ---------------------------------------------------------
+    //  TEST: GET /api/customers/changes
+    // ---------------------------------------------------------
+    @Test
+    void shouldReturnAllChangesFollowingContinuationTokens() {
+
+        ResponseEntity<PageResponse<CustomerResponse>> all = rest.exchange(
+                url("/api/customers?size=1"),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                }
+        );
+        assertThat(all.getBody()).isNotNull();
+        var total = all.getBody().getPage().getTotalElements();
+
+        var ids = new HashSet<UUID>();
+        String token = "";
+        CustomerChangesResponse body;
+        do {
+            var response = rest.getForEntity(url("/api/customers/changes?size=5&since=" + token), CustomerChangesResponse.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+            body = response.getBody();
+            assertThat(body).isNotNull();
+            assertThat(body.getChanges()).hasSizeLessThanOrEqualTo(5);
+            body.getChanges().forEach(customer -> assertThat(ids.add(customer.getId())).isTrue());
+            token = body.getNextToken();
+        } while (body.isHasMore());
+
+        assertThat(ids).hasSize((int) total);
+
+        // Sin cambios nuevos se devuelve el mismo token
+        var response = rest.getForEntity(url("/api/customers/changes?since=" + token), CustomerChangesResponse.class);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getChanges()).isEmpty();
+        assertThat(response.getBody().getNextToken()).isEqualTo(token);
+
+        var invalid = rest.getForEntity(url("/api/customers/changes?since=invalido"), String.class);
+        assertThat(invalid.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldReturnCustomersUpdatedAfterTheTokenInTheNextPage() {
+
+        var token = latestChangesToken();
+
+        var id = jdbcTemplate.queryForObject("SELECT id FROM customers ORDER BY id LIMIT 1", UUID.class);
+        // La API no modifica clientes; el cambio se hace directamente con JPA, como lo haría otro proceso
+        var entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.find(Customer.class, id).setName("Cliente Actualizado");
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        var response = rest.getForEntity(url("/api/customers/changes?since=" + token), CustomerChangesResponse.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getChanges())
+                .singleElement()
+                .satisfies(change -> {
+                    assertThat(change.getId()).isEqualTo(id);
+                    assertThat(change.getName()).isEqualTo("Cliente Actualizado");
+                });
+        assertThat(response.getBody().getNextToken()).isNotEqualTo(token);
+    }
+
+    @Test
+    void shouldRejectChangePagesOutOfBounds() {
+
+        var empty = rest.getForEntity(url("/api/customers/changes?size=0"), String.class);
+        var tooLarge = rest.getForEntity(url("/api/customers/changes?size=2001"), String.class);
+
+        assertThat(empty.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(tooLarge.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(tooLarge.getBody()).contains("maxPageSize");
+    }
+
+    @Test
+    void shouldCountWritesCommittedAfterTheSafetyLag() {
+
+        var lateCommits = customerService.getLateCommits();
+
+        // El margen de seguridad en esta clase es 0s: cualquier demora entre la escritura y la confirmación lo excede
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            customerService.create(CustomerFixtures.newCustomer("Cliente Tardío"));
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThat(customerService.getLateCommits()).isEqualTo(lateCommits + 1);
+    }
+
+    // ---------------------------------------------------------
+    //  TEST: GET /api/customers con includeArchived
+    // ---------------------------------------------------------
+    @Test
+    void shouldArchiveClosedCustomersAndIncludeThemOnlyWhenRequested() {
+
+        var id = jdbcTemplate.queryForObject(
+                "SELECT id FROM customers WHERE identification_number NOT IN ('2300826357', '2222222222') ORDER BY id LIMIT 1",
+                UUID.class
+        );
+        jdbcTemplate.update(
+                "UPDATE customers SET account_status = ?, updated_at = ? WHERE id = ?",
+                AccountStatus.CLOSED.ordinal(), OffsetDateTime.parse("2000-01-01T00:00:00Z"), id
+        );
+
+        assertThat(archivalJob.archiveAll()).isEqualTo(1);
+
+        ResponseEntity<PageResponse<CustomerResponse>> hot = rest.exchange(
+                url("/api/customers?size=100&fields=id"),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                }
+        );
+        ResponseEntity<PageResponse<CustomerResponse>> all = rest.exchange(
+                url("/api/customers?size=100&fields=id&includeArchived=true"),
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<>() {
+                }
+        );
+
+        assertThat(hot.getBody()).isNotNull();
+        assertThat(all.getBody()).isNotNull();
+        assertThat(hot.getBody().getContent()).extracting(CustomerResponse::getId).doesNotContain(id);
+        assertThat(all.getBody().getContent()).extracting(CustomerResponse::getId).contains(id);
+        // Otras pruebas también archivan clientes en la misma base: se compara con el total de archivados
+        var archived = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers_archive", Long.class);
+        assertThat(all.getBody().getPage().getTotalElements()).isEqualTo(hot.getBody().getPage().getTotalElements() + archived);
+    }
+
+    @Test
+    void shouldReportArchivedCustomersAsEventsAndChanges() {
+
+        var token = latestChangesToken();
+        var row = jdbcTemplate.queryForMap(
+                "SELECT id, identification_number FROM customers WHERE identification_number NOT IN ('2300826357', '2222222222') ORDER BY id LIMIT 1"
+        );
+        var id = (UUID) row.get("id");
+        var identificationNumber = (String) row.get("identification_number");
+        jdbcTemplate.update(
+                "UPDATE customers SET account_status = ?, updated_at = ? WHERE id = ?",
+                AccountStatus.CLOSED.ordinal(), OffsetDateTime.parse("2000-01-01T00:00:00Z"), id
+        );
+
+        assertThat(archivalJob.archiveAll()).isEqualTo(1);
+
+        // El evento se registra en la misma transacción que mueve la fila
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM customer_outbox WHERE customer_id = ? AND event_type = ?",
+                Long.class, id, CustomerEventType.ARCHIVED.ordinal()
+        )).isOne();
+
+        var changes = rest.getForEntity(url("/api/customers/changes?since=" + token), CustomerChangesResponse.class);
+        assertThat(changes.getBody()).isNotNull();
+        assertThat(changes.getBody().getArchived()).containsExactly(id);
+        assertThat(changes.getBody().getChanges()).extracting(CustomerResponse::getId).doesNotContain(id);
+        assertThat(changes.getBody().getNextToken()).isNotEqualTo(token);
+
+        // La consulta por identificación sigue encontrando al cliente en customers_archive
+        var lookup = rest.getForEntity(url("/api/customers/identification/" + identificationNumber), CustomerResponse.class);
+        assertThat(lookup.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(lookup.getBody()).isNotNull();
+        assertThat(lookup.getBody().getId()).isEqualTo(id);
+
+        var batch = rest.postForEntity(
+                url("/api/customers/identification/batch?fields=id"),
+                CustomerBatchLookupRequest.builder().identificationNumbers(List.of(identificationNumber)).build(),
+                CustomerBatchLookupResponse.class
+        );
+        assertThat(batch.getBody()).isNotNull();
+        assertThat(batch.getBody().getFound()).extracting(CustomerResponse::getId).containsExactly(id);
+        assertThat(batch.getBody().getMissing()).isEmpty();
+    }
+
+    /**
+     * Recorre la consulta de cambios hasta el final y devuelve el último token.
+     */
+    private String latestChangesToken() {
+        String token = "";
+        CustomerChangesResponse body;
+        do {
+            body = rest.getForEntity(url("/api/customers/changes?size=2000&since=" + token), CustomerChangesResponse.class).getBody();
+            assertThat(body).isNotNull();
+            token = body.getNextToken();
+        } while (body.isHasMore());
+        return token;
+    }
+
     // ---------------------------------------------------------
     // Soportar Page<T> con TestRestTemplate
     // ---------------------------------------------------------
@@ -0,0 +1,49 @@
+package ec.com.bancointernacional.pruebatecnica.entities;
+
+import ec.com.bancointernacional.pruebatecnica.schemas.AccountStatus;
+import ec.com.bancointernacional.pruebatecnica.schemas.AccountType;
+import ec.com.bancointernacional.pruebatecnica.schemas.IdentificationType;
+import ec.com.bancointernacional.pruebatecnica.utils.EcuadorIdGenerator;
+import lombok.experimental.UtilityClass;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Clientes nuevos para las pruebas de integración y los benchmarks.
+ */
+@UtilityClass
+public final class CustomerFixtures {
+
+    /**
+     * Prefijo de los números de cuenta, distinto en cada ejecución para no repetirlos al volver a usar
+     * la misma base de datos (por ejemplo, los benchmarks contra PostgreSQL).
+     */
+    private static final long RUN = ThreadLocalRandom.current().nextLong(100_000, 1_000_000);
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    /**
+     * Crea un cliente vigente, sin persistir, con cédula válida y número de cuenta único. El número de
+     * cliente y la cuenta se pueden reemplazar con los setters antes de registrarlo.
+     *
+     * @param name nombre del cliente, al que se agrega el número de secuencia.
+     * @return el cliente sin identificador.
+     */
+    public static Customer newCustomer(String name) {
+        var sequence = SEQUENCE.incrementAndGet();
+        return Customer.builder()
+                .name(name + " " + sequence)
+                .number(LazyDecryptedString.of(String.valueOf(RUN * 1_000_000 + sequence)))
+                .identificationType(IdentificationType.CI)
+                .identificationNumber(EcuadorIdGenerator.generateCedula())
+                .account(Account.builder()
+                        .number("%06d%06d".formatted(RUN, sequence))
+                        .balance(BigDecimal.TEN)
+                        .type(AccountType.SAVINGS)
+                        .status(AccountStatus.ACTIVE)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package ec.com.bancointernacional.pruebatecnica.interceptors;
+
+import ec.com.bancointernacional.pruebatecnica.utils.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlInterceptorTest {
+
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 1, 1, 1);
+    private final AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(limiter, Duration.ofSeconds(3));
+
+    @Test
+    void shouldRejectRequestsOverTheLimitWithRetryAfter() throws Exception {
+
+        var admittedRequest = new MockHttpServletRequest();
+        assertThat(interceptor.preHandle(admittedRequest, new MockHttpServletResponse(), new Object())).isTrue();
+
+        var rejected = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest(), rejected, new Object())).isFalse();
+
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(rejected.getContentType()).startsWith(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        assertThat(rejected.getContentAsString()).contains("\"status\":503");
+        assertThat(limiter.getRejected()).isOne();
+    }
+
+    @Test
+    void shouldReleaseTheSlotWhenTheRequestCompletes() throws Exception {
+
+        var request = new MockHttpServletRequest();
+        var response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+        assertThat(limiter.getInFlight()).isOne();
+
+        interceptor.afterCompletion(request, response, new Object(), null);
+        assertThat(limiter.getInFlight()).isZero();
+
+        // Una solicitud rechazada no se libera, no llegó a ocupar un espacio
+        var rejected = new MockHttpServletRequest();
+        assertThat(interceptor.preHandle(request, response, new Object())).isTrue();
+        assertThat(interceptor.preHandle(rejected, new MockHttpServletResponse(), new Object())).isFalse();
+        interceptor.afterCompletion(rejected, new MockHttpServletResponse(), new Object(), null);
+        assertThat(limiter.getInFlight()).isOne();
+    }
+}
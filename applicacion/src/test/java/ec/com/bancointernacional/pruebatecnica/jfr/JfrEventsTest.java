@@ -0,0 +1,148 @@
+package ec.com.bancointernacional.pruebatecnica.jfr;
+
+import ec.com.bancointernacional.pruebatecnica.services.CustomerService;
+import ec.com.bancointernacional.pruebatecnica.services.IdentificationNumberFilter;
+import ec.com.bancointernacional.pruebatecnica.utils.EcuadorIdGenerator;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica con una grabación en curso que cada evento JFR propio se registra con los campos esperados.
+ */
+@SpringBootTest(
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:jfrdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "spring.datasource.driverClassName=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                "customer.outbox.relay-enabled=false",
+                "customer.lookup.negative-filter.refresh-interval=PT1H"
+        }
+)
+class JfrEventsTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private IdentificationNumberFilter filter;
+
+    @Test
+    void shouldRecordSearchesWithTheQueryShapeAndPhaseDurations() {
+
+        var events = record(CustomerSearchEvent.class, () ->
+                customerService.page(null, "name==\"Luis Vasquez\";account.balance=gt=0", "name,number", false, PageRequest.of(0, 10))
+        );
+
+        assertThat(events).hasSize(1);
+        var event = events.getFirst();
+        // Los valores buscados no se registran
+        assertThat(event.getString("queryShape")).isEqualTo("name==?;account.balance=gt=?");
+        assertThat(event.getBoolean("textSearch")).isFalse();
+        assertThat(event.getBoolean("includeArchived")).isFalse();
+        assertThat(event.getString("fields")).contains("name", "number");
+        assertThat(event.getInt("pageNumber")).isZero();
+        assertThat(event.getInt("pageSize")).isEqualTo(10);
+        assertThat(event.getInt("rows")).isOne();
+        assertThat(event.getLong("totalElements")).isOne();
+        assertThat(event.getDuration("queryDuration")).isPositive();
+        assertThat(event.getDuration("decryptionDuration")).isNotNegative();
+        assertThat(event.getDuration("mappingDuration")).isNotNegative();
+    }
+
+    @Test
+    void shouldRecordLookupsByIdentificationNumber() {
+
+        filter.rebuild();
+        var missing = EcuadorIdGenerator.generateCedula();
+        while (filter.mightContain(missing)) {
+            missing = EcuadorIdGenerator.generateCedula();
+        }
+        var unknown = missing;
+
+        var events = record(CustomerLookupEvent.class, () -> {
+            customerService.getByIdentificationNumber("2300826357", "name");
+            customerService.getByIdentificationNumbers(List.of("2300826357", unknown), "name");
+        });
+
+        assertThat(events).hasSize(2);
+        var single = events.get(0);
+        assertThat(single.getInt("requested")).isOne();
+        assertThat(single.getInt("filtered")).isZero();
+        assertThat(single.getInt("found")).isOne();
+        assertThat(single.getString("fields")).isEqualTo("name");
+
+        var batch = events.get(1);
+        assertThat(batch.getInt("requested")).isEqualTo(2);
+        // El filtro recién construido descarta el número inexistente sin consultar la base de datos
+        assertThat(batch.getInt("filtered")).isOne();
+        assertThat(batch.getInt("found")).isOne();
+        assertThat(batch.getFields()).noneMatch(field -> field.getName().equals("identificationNumber"));
+    }
+
+    @Test
+    void shouldRecordSequenceFetches() {
+
+        var events = record(SequenceFetchEvent.class, customerService::nextCustomerNumber);
+
+        assertThat(events).hasSize(1);
+        assertThat(events.getFirst().getString("sequence")).isEqualTo("customer_number_seq");
+        assertThat(events.getFirst().getDuration()).isNotNegative();
+    }
+
+    @Test
+    void shouldRecordFlywayPhasesAndScripts() {
+
+        // Base nueva: la migración de la aplicación se ejecutó antes de iniciar la grabación
+        var flyway = Flyway.configure()
+                .dataSource("jdbc:h2:mem:jfrflywaydb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "")
+                .locations("classpath:db/migration")
+                .callbacks(new FlywayMigrationEventCallback())
+                .load();
+
+        var events = record(FlywayMigrationEvent.class, flyway::migrate);
+
+        assertThat(events).extracting(event -> event.getString("phase")).contains("validate", "migrate", "script");
+        assertThat(events).allMatch(event -> event.getBoolean("success"));
+        assertThat(events)
+                .filteredOn(event -> event.getString("phase").equals("script"))
+                .extracting(event -> event.getString("script"))
+                .contains("V1__init.sql", "V6__job_checkpoints.sql");
+        assertThat(events)
+                .filteredOn(event -> !event.getString("phase").equals("script"))
+                .allMatch(event -> event.getString("script") == null);
+    }
+
+    /**
+     * Ejecuta la acción con una grabación del evento indicado, sin umbral, y devuelve los eventos registrados.
+     */
+    private static List<RecordedEvent> record(Class<? extends Event> eventClass, Runnable action) {
+        var events = new CopyOnWriteArrayList<RecordedEvent>();
+        try (var stream = new RecordingStream()) {
+            stream.enable(eventClass).withoutThreshold();
+            stream.onEvent(events::add);
+            stream.startAsync();
+
+            action.run();
+
+            // Espera a que se consuman todos los eventos de la grabación
+            stream.stop();
+        }
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(eventClass.getAnnotation(Name.class).value()))
+                .toList();
+    }
+}
@@ -0,0 +1,3 @@
+
+@org.jspecify.annotations.NullMarked
+package ec.com.bancointernacional.pruebatecnica.jfr;
@@ -0,0 +1,146 @@
+package ec.com.bancointernacional.pruebatecnica.jobs;
+
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerNumberCipherProperties;
+import ec.com.bancointernacional.pruebatecnica.services.CustomerNumberCipher;
+import ec.com.bancointernacional.pruebatecnica.utils.CipherStringUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:reencryptiondb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "spring.datasource.driverClassName=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                // La versión activa "v_2" contiene un comodín de LIKE que también coincide con la versión anterior "v-2"
+                "customer.number.cipher.keys[v-2].key=abcdefghijklmnop",
+                "customer.number.cipher.keys[v-2].algorithm=AES",
+                "customer.number.cipher.keys[v_2].key=ABCDEFGHIJKLMNOPQRSTUVWXYZ012345",
+                "customer.number.cipher.keys[v_2].algorithm=AES/GCM/NoPadding",
+                "customer.number.cipher.active-key-id=v_2",
+                "customer.number.cipher.re-encryption.batch-size=5",
+                "customer.number.cipher.re-encryption.pause-between-batches=0s"
+        }
+)
+class CustomerNumberReEncryptionJobTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerNumberReEncryptionJob job;
+
+    @Autowired
+    private CustomerNumberCipher cipher;
+
+    @Autowired
+    private CustomerNumberCipherProperties properties;
+
+    @Test
+    void shouldReEncryptLegacyAndPreviousVersionRowsWithTheActiveKey() {
+
+        // Los clientes de prueba ya están cifrados con la versión activa; dos de ellos pasan a
+        // estar cifrados con la clave heredada (sin prefijo) y con la versión anterior
+        var ids = jdbcTemplate.queryForList("SELECT id FROM customers ORDER BY id LIMIT 3", UUID.class);
+        var legacyId = ids.get(0);
+        var previousId = ids.get(1);
+        var currentId = ids.get(2);
+
+        setNumber(legacyId, CipherStringUtils.cipher("700001", properties.getKey(), properties.getAlgorithm()));
+        setNumber(previousId, "v-2:" + CipherStringUtils.cipher("700002", "abcdefghijklmnop", "AES"));
+        var currentNumber = number(currentId);
+
+        var legacyVersion = version(legacyId);
+        var previousVersion = version(previousId);
+        var currentVersion = version(currentId);
+
+        assertThat(job.reEncryptAll()).isEqualTo(2);
+
+        assertThat(jdbcTemplate.queryForList("SELECT number FROM customers", String.class))
+                .allSatisfy(number -> assertThat(number).startsWith("v_2:"));
+        assertThat(cipher.decipher(number(legacyId))).isEqualTo("700001");
+        assertThat(cipher.decipher(number(previousId))).isEqualTo("700002");
+        assertThat(number(currentId)).isEqualTo(currentNumber);
+
+        // Solo las filas re-cifradas cambian de versión
+        assertThat(version(legacyId)).isEqualTo(legacyVersion + 1);
+        assertThat(version(previousId)).isEqualTo(previousVersion + 1);
+        assertThat(version(currentId)).isEqualTo(currentVersion);
+
+        // Repetir el recorrido no vuelve a actualizar filas
+        assertThat(job.reEncryptAll()).isZero();
+    }
+
+    @Test
+    void shouldSkipRowsThatCannotBeDecrypted() {
+
+        var ids = jdbcTemplate.queryForList("SELECT id FROM customers ORDER BY id LIMIT 2", UUID.class);
+        var unknownKeyId = ids.get(0);
+        var legacyId = ids.get(1);
+        var unknownKeyNumber = number(unknownKeyId);
+        var skipped = job.getSkippedRows();
+
+        setNumber(unknownKeyId, "retirada:" + CipherStringUtils.cipher("700003", "abcdefghijklmnop", "AES"));
+        setNumber(legacyId, CipherStringUtils.cipher("700004", properties.getKey(), properties.getAlgorithm()));
+        try {
+            // Una fila con una versión de clave desconocida no detiene el recorrido
+            assertThat(job.reEncryptAll()).isEqualTo(1);
+            assertThat(job.getSkippedRows()).isEqualTo(skipped + 1);
+            assertThat(number(unknownKeyId)).startsWith("retirada:");
+            assertThat(cipher.decipher(number(legacyId))).isEqualTo("700004");
+        } finally {
+            setNumber(unknownKeyId, unknownKeyNumber);
+        }
+    }
+
+    @Test
+    void shouldResumeFromThePersistedCheckpoint() {
+
+        var ids = jdbcTemplate.queryForList("SELECT id FROM customers ORDER BY id LIMIT 3", UUID.class);
+        var beforeCheckpointId = ids.get(0);
+        var checkpointId = ids.get(1);
+        var afterCheckpointId = ids.get(2);
+
+        setNumber(beforeCheckpointId, CipherStringUtils.cipher("700005", properties.getKey(), properties.getAlgorithm()));
+        setNumber(afterCheckpointId, CipherStringUtils.cipher("700006", properties.getKey(), properties.getAlgorithm()));
+
+        // Otra instancia se detuvo después de procesar hasta checkpointId con la misma versión activa
+        jdbcTemplate.update("UPDATE job_checkpoints SET scope = ?, last_id = ? WHERE job = ?",
+                cipher.getActivePrefix(), checkpointId, CustomerNumberReEncryptionJob.JOB);
+
+        assertThat(job.reEncryptAll()).isEqualTo(1);
+        assertThat(number(beforeCheckpointId)).doesNotStartWith("v_2:");
+        assertThat(cipher.decipher(number(afterCheckpointId))).isEqualTo("700006");
+
+        // El recorrido terminó: la siguiente ejecución comienza desde el inicio
+        assertThat(jdbcTemplate.queryForObject("SELECT last_id FROM job_checkpoints WHERE job = ?", UUID.class, CustomerNumberReEncryptionJob.JOB))
+                .isNull();
+        assertThat(job.reEncryptAll()).isEqualTo(1);
+        assertThat(cipher.decipher(number(beforeCheckpointId))).isEqualTo("700005");
+    }
+
+    @Test
+    void shouldEscapeLikeWildcardsInTheKeyPrefix() {
+        assertThat(CustomerNumberReEncryptionJob.escapeLike("v_2:")).isEqualTo("v\\_2:");
+        assertThat(CustomerNumberReEncryptionJob.escapeLike("100%\\")).isEqualTo("100\\%\\\\");
+    }
+
+    private void setNumber(UUID id, String number) {
+        jdbcTemplate.update("UPDATE customers SET number = ? WHERE id = ?", number, id);
+    }
+
+    private String number(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT number FROM customers WHERE id = ?", String.class, id);
+    }
+
+    private long version(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT version FROM customers WHERE id = ?", Long.class, id);
+    }
+}
@@ -0,0 +1,148 @@
+package ec.com.bancointernacional.pruebatecnica.jobs;
+
+import ec.com.bancointernacional.pruebatecnica.entities.CustomerFixtures;
+import ec.com.bancointernacional.pruebatecnica.outbox.InMemoryQueueCustomerEventSink;
+import ec.com.bancointernacional.pruebatecnica.schemas.CustomerEventType;
+import ec.com.bancointernacional.pruebatecnica.services.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:outboxdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "spring.datasource.driverClassName=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                "customer.outbox.sink=queue",
+                // Las pruebas ejecutan el relay manualmente
+                "customer.outbox.relay-enabled=false"
+        }
+)
+class CustomerOutboxRelayTest {
+
+    @Autowired
+    private CustomerOutboxRelay relay;
+
+    @Autowired
+    private InMemoryQueueCustomerEventSink sink;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void publishSeedEvents() {
+        relay.relayPending();
+        sink.getQueue().clear();
+    }
+
+    @Test
+    void shouldAppendEventsInTheSameTransactionAsTheCustomer() {
+
+        var transaction = new TransactionTemplate(transactionManager);
+
+        var rolledBack = transaction.execute(status -> {
+            var customer = customerService.create(CustomerFixtures.newCustomer("Cliente Outbox"));
+            status.setRollbackOnly();
+            return customer.getId();
+        });
+        assertThat(outboxEvents(rolledBack)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers WHERE id = ?", Long.class, rolledBack)).isZero();
+
+        var committed = transaction.execute(status -> customerService.create(CustomerFixtures.newCustomer("Cliente Outbox")).getId());
+        assertThat(outboxEvents(committed)).isOne();
+
+        var row = jdbcTemplate.queryForMap("SELECT event_type, payload, published_at FROM customer_outbox WHERE customer_id = ?", committed);
+        assertThat(((Number) row.get("event_type")).intValue()).isEqualTo(CustomerEventType.CREATED.ordinal());
+        assertThat(row.get("published_at")).isNull();
+        // El número de cliente no sale del sistema
+        assertThat((String) row.get("payload")).contains(committed.toString()).doesNotContain("\"number\":\"9");
+    }
+
+    @Test
+    void shouldPublishPendingEventsAndMarkThemAsPublished() {
+
+        var id = customerService.create(CustomerFixtures.newCustomer("Cliente Outbox")).getId();
+
+        assertThat(relay.relayPending()).isOne();
+        assertThat(sink.getQueue()).singleElement().satisfies(event -> {
+            assertThat(event.getCustomerId()).isEqualTo(id);
+            assertThat(event.getEventType()).isEqualTo(CustomerEventType.CREATED);
+        });
+        assertThat(jdbcTemplate.queryForObject("SELECT published_at FROM customer_outbox WHERE customer_id = ?", OffsetDateTime.class, id)).isNotNull();
+
+        // Los eventos ya publicados no se vuelven a publicar
+        assertThat(relay.relayPending()).isZero();
+        assertThat(relay.getPublishedEvents()).isPositive();
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldSkipEventsLockedByAnotherRelay() throws Exception {
+
+        customerService.create(CustomerFixtures.newCustomer("Cliente Outbox"));
+        customerService.create(CustomerFixtures.newCustomer("Cliente Outbox"));
+
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var otherRelay = CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("SELECT id FROM customer_outbox WHERE published_at IS NULL FOR UPDATE", Long.class);
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+
+        try {
+            locked.await();
+            // Las filas bloqueadas se omiten sin esperar a que se liberen
+            assertThat(relay.relayPending()).isZero();
+        } finally {
+            release.countDown();
+            otherRelay.get();
+        }
+
+        assertThat(relay.relayPending()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldPurgeOnlyEventsPublishedBeforeTheRetention() {
+
+        var old = customerService.create(CustomerFixtures.newCustomer("Cliente Outbox")).getId();
+        var recent = customerService.create(CustomerFixtures.newCustomer("Cliente Outbox")).getId();
+        var pending = customerService.create(CustomerFixtures.newCustomer("Cliente Outbox")).getId();
+
+        jdbcTemplate.update("UPDATE customer_outbox SET published_at = ? WHERE customer_id = ?", OffsetDateTime.parse("2000-01-01T00:00:00Z"), old);
+        jdbcTemplate.update("UPDATE customer_outbox SET published_at = CURRENT_TIMESTAMP WHERE customer_id = ?", recent);
+
+        assertThat(relay.purgePublished()).isOne();
+        assertThat(outboxEvents(old)).isZero();
+        assertThat(outboxEvents(recent)).isOne();
+        assertThat(outboxEvents(pending)).isOne();
+    }
+
+    private long outboxEvents(UUID customerId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customer_outbox WHERE customer_id = ?", Long.class, customerId);
+    }
+}
@@ -0,0 +1,32 @@
+package ec.com.bancointernacional.pruebatecnica.outbox;
+
+import ec.com.bancointernacional.pruebatecnica.entities.CustomerOutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Destino de prueba que guarda los eventos publicados en una cola en memoria, para verificarlos
+ * en las pruebas con {@code customer.outbox.sink=queue}.
+ */
+@Component
+@ConditionalOnProperty(name = "customer.outbox.sink", havingValue = "queue")
+public class InMemoryQueueCustomerEventSink implements CustomerEventSink {
+
+    private final BlockingQueue<CustomerOutboxEvent> queue = new LinkedBlockingQueue<>();
+
+    @Override
+    public void publish(List<CustomerOutboxEvent> events) {
+        queue.addAll(events);
+    }
+
+    /**
+     * Eventos publicados, en el orden recibido.
+     */
+    public BlockingQueue<CustomerOutboxEvent> getQueue() {
+        return queue;
+    }
+}
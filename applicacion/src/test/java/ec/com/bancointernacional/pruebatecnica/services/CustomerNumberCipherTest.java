@@ -0,0 +1,92 @@
+package ec.com.bancointernacional.pruebatecnica.services;
+
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerNumberCipherProperties;
+import ec.com.bancointernacional.pruebatecnica.utils.CipherStringUtils;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CustomerNumberCipherTest {
+
+    private static final String LEGACY_KEY = "1234567890123456";
+
+    private static CustomerNumberCipherProperties.KeyVersion keyVersion(String key, @Nullable String algorithm) {
+        var version = new CustomerNumberCipherProperties.KeyVersion();
+        version.setKey(key);
+        version.setAlgorithm(algorithm);
+        return version;
+    }
+
+    /**
+     * Clave heredada en ECB, una versión v1 en ECB y la versión activa v2 en GCM.
+     */
+    private static CustomerNumberCipherProperties properties(@Nullable String activeKeyId) {
+        var properties = new CustomerNumberCipherProperties();
+        properties.setKey(LEGACY_KEY);
+        properties.setAlgorithm("AES");
+        properties.getKeys().put("v1", keyVersion("abcdefghijklmnop", null));
+        properties.getKeys().put("v2", keyVersion("ABCDEFGHIJKLMNOPQRSTUVWXYZ012345", "AES/GCM/NoPadding"));
+        properties.setActiveKeyId(activeKeyId);
+        return properties;
+    }
+
+    @Test
+    void shouldDecipherValuesOfEveryConfiguredKeyVersion() {
+        var v1 = new CustomerNumberCipher(properties("v1"));
+        var v2 = new CustomerNumberCipher(properties("v2"));
+
+        var legacy = CipherStringUtils.cipher("100001", LEGACY_KEY, "AES");
+        var ecb = v1.cipher("100002");
+        var gcm = v2.cipher("100003");
+
+        assertThat(legacy).doesNotContain(":");
+        assertThat(ecb).startsWith("v1:");
+        assertThat(gcm).startsWith("v2:");
+
+        // Con cualquier versión activa se leen los valores de todas las versiones
+        for (var cipher : new CustomerNumberCipher[]{v1, v2}) {
+            assertThat(cipher.decipher(legacy)).isEqualTo("100001");
+            assertThat(cipher.decipher(ecb)).isEqualTo("100002");
+            assertThat(cipher.decipher(gcm)).isEqualTo("100003");
+        }
+    }
+
+    @Test
+    void shouldOnlyConsiderValuesOfTheActiveVersionAsCurrent() {
+        var cipher = new CustomerNumberCipher(properties("v2"));
+
+        assertThat(cipher.isCurrent(cipher.cipher("100001"))).isTrue();
+        assertThat(cipher.isCurrent(new CustomerNumberCipher(properties("v1")).cipher("100001"))).isFalse();
+        assertThat(cipher.isCurrent(CipherStringUtils.cipher("100001", LEGACY_KEY, "AES"))).isFalse();
+
+        var legacyOnly = new CustomerNumberCipher(properties(null));
+        assertThat(legacyOnly.getActivePrefix()).isNull();
+        assertThat(legacyOnly.cipher("100001")).doesNotContain(":");
+        assertThat(legacyOnly.isCurrent(legacyOnly.cipher("100001"))).isTrue();
+    }
+
+    @Test
+    void shouldRejectGcmValuesWhosePrefixWasSwapped() {
+        // Dos versiones GCM con la misma clave: solo el dato asociado distingue sus valores
+        var properties = properties("v2");
+        properties.getKeys().put("v3", keyVersion("ABCDEFGHIJKLMNOPQRSTUVWXYZ012345", "AES/GCM/NoPadding"));
+        var cipher = new CustomerNumberCipher(properties);
+
+        var stored = cipher.cipher("100001");
+        assertThat(cipher.decipher(stored)).isEqualTo("100001");
+        assertThatThrownBy(() -> cipher.decipher("v3:" + stored.substring("v2:".length())))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    void shouldRejectUnknownKeyVersions() {
+        var cipher = new CustomerNumberCipher(properties("v2"));
+
+        assertThatThrownBy(() -> cipher.decipher("v9:" + CipherStringUtils.cipher("100001", LEGACY_KEY, "AES")))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> new CustomerNumberCipher(properties("v9")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,130 @@
+package ec.com.bancointernacional.pruebatecnica.services;
+
+import ec.com.bancointernacional.pruebatecnica.entities.CustomerFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cantidad de sentencias con el perfil {@code high-throughput}, para detectar regresiones como inserciones
+ * sin lotes, lecturas con una consulta por cliente (N+1) o consultas por lote que dejan de reutilizar el mismo SQL.
+ */
+@SpringBootTest(
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:highthroughputdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "spring.datasource.driverClassName=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                // El relay del outbox y la actualización del filtro en segundo plano sumarían sentencias a las estadísticas
+                "customer.outbox.relay-enabled=false",
+                "customer.lookup.negative-filter.refresh-interval=PT1H",
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector=ec.com.bancointernacional.pruebatecnica.services.HighThroughputProfileTest$RecordingStatementInspector"
+        }
+)
+@ActiveProfiles("high-throughput")
+class HighThroughputProfileTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void clearStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        RecordingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void shouldBatchInsertsWhenCreatingCustomers() {
+
+        var customers = 10;
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < customers; i++) {
+                customerService.create(CustomerFixtures.newCustomer("Cliente Lote"));
+            }
+        });
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(customers * 2L);
+        // Sin lotes se prepararía una sentencia por cliente y otra por evento del outbox. Los clientes se
+        // insertan de a uno porque Hibernate lee el updated_at asignado por la base de datos; los eventos
+        // del outbox sí van en lotes, más las consultas a la secuencia del outbox
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(customers * 2L);
+    }
+
+    @Test
+    void shouldNotIssueStatementsPerCustomerWhenReadingAPage() {
+
+        for (int i = 0; i < 5; i++) {
+            customerService.create(CustomerFixtures.newCustomer("Cliente Pagina"));
+        }
+
+        statistics.clear();
+        var page = customerService.page(null, null, null, false, PageRequest.of(0, 20));
+
+        assertThat(page.getNumberOfElements()).isGreaterThanOrEqualTo(5);
+        // Consulta de la página y conteo total, sin una sentencia adicional por cliente
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldReuseTheSameStatementForLookupsOfSimilarSize() {
+
+        var identificationNumbers = new ArrayList<String>();
+        for (int i = 0; i < 4; i++) {
+            identificationNumbers.add(customerService.create(CustomerFixtures.newCustomer("Cliente Lote")).getIdentificationNumber());
+        }
+
+        statistics.clear();
+        RecordingStatementInspector.STATEMENTS.clear();
+        customerService.getByIdentificationNumbers(identificationNumbers.subList(0, 3), "identificationNumber");
+        customerService.getByIdentificationNumbers(identificationNumbers, "identificationNumber");
+
+        // Una sola consulta IN por solicitud
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        // Con el relleno de la lista IN, 3 y 4 valores generan el mismo SQL
+        assertThat(RecordingStatementInspector.STATEMENTS).hasSize(2);
+        assertThat(RecordingStatementInspector.STATEMENTS.get(0)).isEqualTo(RecordingStatementInspector.STATEMENTS.get(1));
+    }
+
+    /**
+     * Registra el SQL de las consultas a {@code customers} que prepara Hibernate.
+     */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("select") && sql.contains("identification_number in")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package ec.com.bancointernacional.pruebatecnica.services;
+
+import com.peluware.springframework.web.problemdetails.ProblemDetails;
+import ec.com.bancointernacional.pruebatecnica.configuration.CustomerLookupProperties;
+import ec.com.bancointernacional.pruebatecnica.dto.CustomerResponse;
+import ec.com.bancointernacional.pruebatecnica.entities.CustomerFixtures;
+import ec.com.bancointernacional.pruebatecnica.utils.EcuadorIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:negativefilterdb;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+                "spring.datasource.driverClassName=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                // Las pruebas actualizan el filtro explícitamente
+                "customer.lookup.negative-filter.refresh-interval=PT1H"
+        }
+)
+class IdentificationNumberFilterTest {
+
+    @Autowired
+    private IdentificationNumberFilter filter;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerNumberCipher cipher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerLookupProperties lookupProperties;
+
+    @BeforeEach
+    void rebuildFilter() {
+        filter.rebuild();
+    }
+
+    @Test
+    void shouldFindCustomersKnownByTheFilter() {
+
+        var identificationNumber = customerService.create(CustomerFixtures.newCustomer("Cliente Filtro")).getIdentificationNumber();
+        var staleMisses = filter.getStaleMisses();
+
+        assertThat(filter.mightContain(identificationNumber)).isTrue();
+        assertThat(customerService.getByIdentificationNumber(identificationNumber, null).getIdentificationNumber())
+                .isEqualTo(identificationNumber);
+        assertThat(filter.getStaleMisses()).isEqualTo(staleMisses);
+    }
+
+    @Test
+    void shouldReturnNotFoundForMissingCustomers() {
+
+        var identificationNumber = unusedIdentificationNumber();
+        var misses = filter.getMisses();
+        var staleMisses = filter.getStaleMisses();
+
+        assertThatThrownBy(() -> customerService.getByIdentificationNumber(identificationNumber, null))
+                .isInstanceOf(ProblemDetails.class);
+        assertThat(filter.getMisses()).isEqualTo(misses + 1);
+        assertThat(filter.getStaleMisses()).isEqualTo(staleMisses);
+    }
+
+    @Test
+    void shouldFindCustomersInsertedOutsideTheServiceAfterARefresh() {
+
+        var identificationNumber = insertWithJdbc();
+
+        // Otra réplica o una carga directa: el filtro no conoce el número hasta la siguiente actualización
+        assertThat(filter.mightContain(identificationNumber)).isFalse();
+
+        assertThat(filter.refresh()).isPositive();
+
+        assertThat(filter.mightContain(identificationNumber)).isTrue();
+        assertThat(customerService.getByIdentificationNumber(identificationNumber, null).getIdentificationNumber())
+                .isEqualTo(identificationNumber);
+    }
+
+    @Test
+    void shouldAnswerMissesWithoutTheDatabaseWhileTheFilterIsFresh() {
+
+        var identificationNumber = insertWithJdbc();
+        var staleMisses = filter.getStaleMisses();
+
+        // Dentro de max-staleness el descarte se responde sin consultar la base de datos
+        assertThat(filter.trustsMisses()).isTrue();
+        assertThatThrownBy(() -> customerService.getByIdentificationNumber(identificationNumber, null))
+                .isInstanceOf(ProblemDetails.class);
+        assertThat(filter.getStaleMisses()).isEqualTo(staleMisses);
+    }
+
+    @Test
+    void shouldConfirmMissesWithTheDatabaseWhileTheFilterIsStale() {
+
+        var negativeFilter = lookupProperties.getNegativeFilter();
+        var maxStaleness = negativeFilter.getMaxStaleness();
+        negativeFilter.setMaxStaleness(Duration.ZERO);
+        try {
+            var identificationNumber = insertWithJdbc();
+            var staleMisses = filter.getStaleMisses();
+
+            assertThat(filter.trustsMisses()).isFalse();
+            assertThat(customerService.getByIdentificationNumber(identificationNumber, null).getIdentificationNumber())
+                    .isEqualTo(identificationNumber);
+            assertThat(filter.getStaleMisses()).isEqualTo(staleMisses + 1);
+            assertThat(filter.mightContain(identificationNumber)).isTrue();
+        } finally {
+            negativeFilter.setMaxStaleness(maxStaleness);
+        }
+    }
+
+    @Test
+    void shouldConfirmMissesWithTheDatabaseInBatchesWhileTheFilterIsStale() {
+
+        var negativeFilter = lookupProperties.getNegativeFilter();
+        var maxStaleness = negativeFilter.getMaxStaleness();
+        negativeFilter.setMaxStaleness(Duration.ZERO);
+        try {
+            var inserted = insertWithJdbc();
+            var missing = unusedIdentificationNumber();
+
+            var response = customerService.getByIdentificationNumbers(List.of(inserted, missing), "identificationNumber");
+
+            assertThat(response.getFound()).extracting(CustomerResponse::getIdentificationNumber).containsExactly(inserted);
+            assertThat(response.getMissing()).containsExactly(missing);
+            assertThat(filter.mightContain(inserted)).isTrue();
+        } finally {
+            negativeFilter.setMaxStaleness(maxStaleness);
+        }
+    }
+
+    private String insertWithJdbc() {
+        var customer = CustomerFixtures.newCustomer("Cliente Externo");
+        customer.setIdentificationNumber(unusedIdentificationNumber());
+        jdbcTemplate.update(
+                """
+                        INSERT INTO customers (id, name, number, identification_number, identification_type,
+                                               account_number, account_type, account_balance, account_status)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                        """,
+                UUID.randomUUID(),
+                customer.getName(),
+                cipher.cipher(customer.getNumber().get()),
+                customer.getIdentificationNumber(),
+                customer.getIdentificationType().ordinal(),
+                customer.getAccount().getNumber(),
+                customer.getAccount().getType().ordinal(),
+                customer.getAccount().getBalance(),
+                customer.getAccount().getStatus().ordinal()
+        );
+        return customer.getIdentificationNumber();
+    }
+
+    private String unusedIdentificationNumber() {
+        while (true) {
+            var identificationNumber = EcuadorIdGenerator.generateCedula();
+            var count = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM customers WHERE identification_number = ?", Long.class, identificationNumber
+            );
+            if (count == 0 && !filter.mightContain(identificationNumber)) {
+                return identificationNumber;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package ec.com.bancointernacional.pruebatecnica.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long NO_LOAD_RTT = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long QUEUED_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void shouldRejectRequestsOverTheLimit() {
+
+        var limiter = new AdaptiveConcurrencyLimiter("test", 2, 1, 2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getRejected()).isOne();
+
+        limiter.release(NO_LOAD_RTT);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shouldKeepShrinkingWhileLatencyStaysHighUnderLoad() {
+
+        var limiter = new AdaptiveConcurrencyLimiter("test", 20, 4, 50);
+
+        saturate(limiter, NO_LOAD_RTT, 10);
+        // Más muestras que el intervalo de reinicio de la latencia sin carga: bajo carga no se reinicia,
+        // por lo que la latencia con espera en cola no pasa a ser la referencia
+        saturate(limiter, QUEUED_RTT, 3000);
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldGrowWhileLatencyStaysAtTheNoLoadLevel() {
+
+        var limiter = new AdaptiveConcurrencyLimiter("test", 20, 4, 50);
+
+        saturate(limiter, NO_LOAD_RTT, 500);
+
+        assertThat(limiter.getLimit()).isEqualTo(50);
+    }
+
+    /**
+     * Mantiene el limitador lleno y libera una solicitud a la vez con la latencia indicada.
+     */
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rttNanos, int releases) {
+        for (int i = 0; i < releases; i++) {
+            while (limiter.tryAcquire()) {
+                // ocupar todos los espacios disponibles
+            }
+            limiter.release(rttNanos);
+        }
+        while (limiter.getInFlight() > 0) {
+            limiter.release(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package ec.com.bancointernacional.pruebatecnica.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CipherStringUtilsTest {
+
+    private static final String KEY = "12345678901234567890123456789012";
+    private static final String GCM = "AES/GCM/NoPadding";
+
+    @Test
+    void shouldRoundTripWithEcb() {
+        var cipherText = CipherStringUtils.cipher("100001", KEY, "AES");
+
+        assertThat(CipherStringUtils.decipher(cipherText, KEY, "AES")).isEqualTo("100001");
+        // ECB es determinista
+        assertThat(CipherStringUtils.cipher("100001", KEY, "AES")).isEqualTo(cipherText);
+    }
+
+    @Test
+    void shouldRoundTripWithGcmUsingARandomNonce() {
+        var key = CipherStringUtils.secretKey(KEY, GCM);
+        var cipherText = CipherStringUtils.cipher("100001", key, GCM);
+
+        assertThat(CipherStringUtils.decipher(cipherText, key, GCM)).isEqualTo("100001");
+        assertThat(CipherStringUtils.cipher("100001", key, GCM)).isNotEqualTo(cipherText);
+    }
+
+    @Test
+    void shouldRejectGcmValuesWithAModifiedTag() {
+        var key = CipherStringUtils.secretKey(KEY, GCM);
+        var bytes = Base64.getUrlDecoder().decode(CipherStringUtils.cipher("100001", key, GCM));
+        bytes[bytes.length - 1] ^= 1;
+        var tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        assertThatThrownBy(() -> CipherStringUtils.decipher(tampered, key, GCM))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Error al descifrar");
+    }
+
+    @Test
+    void shouldRejectGcmValuesWithDifferentAssociatedData() {
+        var key = CipherStringUtils.secretKey(KEY, GCM);
+        var v1 = "v1".getBytes(StandardCharsets.UTF_8);
+        var cipherText = CipherStringUtils.cipher("100001", key, GCM, v1);
+
+        assertThat(CipherStringUtils.decipher(cipherText, key, GCM, v1)).isEqualTo("100001");
+        assertThatThrownBy(() -> CipherStringUtils.decipher(cipherText, key, GCM, "v2".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> CipherStringUtils.decipher(cipherText, key, GCM))
+                .isInstanceOf(RuntimeException.class);
+    }
+}
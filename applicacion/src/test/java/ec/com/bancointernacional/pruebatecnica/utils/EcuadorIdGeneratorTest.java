@@ -0,0 +1,36 @@
+package ec.com.bancointernacional.pruebatecnica.utils;
+
+import org.junit.jupiter.api.RepeatedTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cada documento generado debe ser aceptado por {@link EcuadorIdentifications}.
+ */
+class EcuadorIdGeneratorTest {
+
+    private static final int SAMPLES = 10_000;
+
+    @RepeatedTest(5)
+    void shouldGenerateValidCedulas() {
+        for (int i = 0; i < SAMPLES; i++) {
+            var value = EcuadorIdGenerator.generateCedula();
+            assertThat(EcuadorIdentifications.isValidCi(value)).as(value).isTrue();
+        }
+    }
+
+    @RepeatedTest(5)
+    void shouldGenerateValidRucs() {
+        for (int i = 0; i < SAMPLES; i++) {
+            var natural = EcuadorIdGenerator.generateRucPersonaNatural();
+            var publicEntity = EcuadorIdGenerator.generateRucEntidadPublica();
+            var privateCompany = EcuadorIdGenerator.generateRucSociedadPrivada();
+
+            assertThat(EcuadorIdentifications.isValidRuc(natural)).as(natural).isTrue();
+            assertThat(EcuadorIdentifications.isValidRuc(publicEntity)).as(publicEntity).isTrue();
+            assertThat(EcuadorIdentifications.isValidRuc(privateCompany)).as(privateCompany).isTrue();
+            assertThat(publicEntity.charAt(2)).isEqualTo('6');
+            assertThat(privateCompany.charAt(2)).isEqualTo('9');
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ec.com.bancointernacional.pruebatecnica.utils;
+
+import ec.com.bancointernacional.pruebatecnica.schemas.IdentificationType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EcuadorIdentificationsTest {
+
+    @ParameterizedTest(name = "cédula {0} -> {1}")
+    @CsvSource({
+            "2300826357, true",   // provincia 23
+            "1710034065, true",   // provincia 17
+            "0100000009, true",   // provincia 01
+            "3000000004, true",   // ecuatorianos en el exterior
+            "2300826358, false",  // verificador incorrecto
+            "1710034066, false",  // verificador incorrecto
+            "0000000000, false",  // provincia 00
+            "2500000003, false",  // provincia 25
+            "2360000000, false",  // tercer dígito 6
+            "230082635A, false",  // no numérico
+            "230082635, false",   // longitud
+            "23008263570, false", // longitud
+    })
+    void shouldValidateCedulas(String value, boolean valid) {
+        assertThat(EcuadorIdentifications.isValidCi(value)).isEqualTo(valid);
+        assertThat(EcuadorIdentifications.isValid(IdentificationType.CI, value)).isEqualTo(valid);
+    }
+
+    @ParameterizedTest(name = "RUC {0} -> {1}")
+    @CsvSource({
+            // Persona natural (tercer dígito 0-5): cédula válida y establecimiento distinto de 000
+            "2300826357001, true",
+            "3000000004001, true",
+            "2300826357000, false",
+            "2300826358001, false",
+            // Entidad pública (tercer dígito 6): verificador en la posición 9 y establecimiento de 4 dígitos
+            "1760001550001, true",
+            "1768152560001, true",
+            "1760001550002, true",
+            "1760001550000, false",
+            "1760001540001, false",
+            // Sociedad privada (tercer dígito 9): verificador en la posición 10
+            "1790011674001, true",
+            "0990004196001, true",
+            "0990004196002, true",
+            "1790011674000, false",
+            "1790011675001, false",
+            "3090000004001, false",
+            // Tercer dígito 7 u 8, provincia, formato y longitud
+            "1780011674001, false",
+            "2370826357001, false",
+            "0190000005001, false",
+            "179001167400A, false",
+            "1790011674, false",
+            "17900116740010, false",
+    })
+    void shouldValidateRucs(String value, boolean valid) {
+        assertThat(EcuadorIdentifications.isValidRuc(value)).isEqualTo(valid);
+        assertThat(EcuadorIdentifications.isValid(IdentificationType.RUC, value)).isEqualTo(valid);
+    }
+
+    @Test
+    void shouldReportThePositionsOfInvalidValues() {
+        var invalid = EcuadorIdentifications.findInvalid(
+                IdentificationType.CI,
+                List.of("2300826357", "2300826358", "1710034065", "0000000000")
+        );
+
+        assertThat(invalid.stream().toArray()).containsExactly(1, 3);
+    }
+}
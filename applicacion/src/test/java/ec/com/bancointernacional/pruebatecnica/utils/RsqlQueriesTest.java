@@ -0,0 +1,41 @@
+package ec.com.bancointernacional.pruebatecnica.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RsqlQueriesTest {
+
+    @Test
+    void shouldReplaceEachArgumentWithAPlaceholder() {
+        assertThat(RsqlQueries.shape("name==Luis;account.balance=lt=1000")).isEqualTo("name==?;account.balance=lt=?");
+        assertThat(RsqlQueries.shape("account.balance>=10,account.balance<5,name!=Ana")).isEqualTo("account.balance>=?,account.balance<?,name!=?");
+    }
+
+    @Test
+    void shouldReplaceQuotedValuesIncludingReservedCharacters() {
+        assertThat(RsqlQueries.shape("name==\"Luis Vasquez\";identificationType==CI")).isEqualTo("name==?;identificationType==?");
+        // Los operadores, separadores y paréntesis dentro de comillas son parte del valor
+        assertThat(RsqlQueries.shape("name=='a;b,c)==d';account.status==ACTIVE")).isEqualTo("name==?;account.status==?");
+    }
+
+    @Test
+    void shouldReplaceListArgumentsWithASinglePlaceholder() {
+        assertThat(RsqlQueries.shape("identificationType=in=(CI,RUC,PASSPORT)")).isEqualTo("identificationType=in=?");
+        assertThat(RsqlQueries.shape("name=out=('Luis, V','Ana');account.balance=gt=0")).isEqualTo("name=out=?;account.balance=gt=?");
+    }
+
+    @Test
+    void shouldKeepNestedGroups() {
+        assertThat(RsqlQueries.shape("(name==Luis,name==Ana);account.status==ACTIVE"))
+                .isEqualTo("(name==?,name==?);account.status==?");
+        assertThat(RsqlQueries.shape("((identificationType=in=(CI,RUC),name=='x)');account.balance=lt=1000),name==Ana"))
+                .isEqualTo("((identificationType=in=?,name==?);account.balance=lt=?),name==?");
+    }
+
+    @Test
+    void shouldCountComparisonsIgnoringQuotedValues() {
+        assertThat(RsqlQueries.countComparisons("name==Luis;account.balance=lt=1000")).isEqualTo(2);
+        assertThat(RsqlQueries.countComparisons("name=='a==b';identificationType=in=(CI,RUC)")).isEqualTo(2);
+    }
+}
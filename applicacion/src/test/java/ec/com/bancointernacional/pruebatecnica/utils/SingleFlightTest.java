@@ -0,0 +1,130 @@
+package ec.com.bancointernacional.pruebatecnica.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Las llamadas concurrentes con la misma clave deben compartir una sola ejecución.
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldExecuteOnceForConcurrentCallers() throws Exception {
+        var flights = new SingleFlight<String, String>(Duration.ofSeconds(30));
+        var calls = new AtomicInteger();
+
+        var results = submitAll(() -> flights.execute("key", () -> {
+            calls.incrementAndGet();
+            awaitFollowers(flights);
+            return "value";
+        }));
+
+        for (var result : results) {
+            assertThat(result.get(30, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(flights.getExecutions()).isEqualTo(1);
+        assertThat(flights.getCoalesced()).isEqualTo(CALLERS - 1);
+        assertThat(flights.getTimedOut()).isZero();
+    }
+
+    @Test
+    void shouldPropagateTheFailureToEveryCaller() throws Exception {
+        var flights = new SingleFlight<String, String>(Duration.ofSeconds(30));
+        var failure = new IllegalStateException("falla");
+
+        var results = submitAll(() -> flights.execute("key", () -> {
+            awaitFollowers(flights);
+            throw failure;
+        }));
+
+        for (var result : results) {
+            assertThatThrownBy(() -> result.get(30, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isSameAs(failure);
+        }
+        assertThat(flights.getExecutions()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExecuteAgainWhenTheRunningCallTakesTooLong() throws Exception {
+        var flights = new SingleFlight<String, String>(Duration.ofMillis(50));
+        var release = new CountDownLatch(1);
+
+        var leader = executor.submit(() -> flights.execute("key", () -> {
+            await(release);
+            return "leader";
+        }));
+        while (flights.getExecutions() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThat(flights.execute("key", () -> "follower")).isEqualTo("follower");
+        release.countDown();
+
+        assertThat(leader.get(30, TimeUnit.SECONDS)).isEqualTo("leader");
+        assertThat(flights.getExecutions()).isEqualTo(2);
+        assertThat(flights.getTimedOut()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExecuteAgainOnceTheRunningCallFinished() {
+        var flights = new SingleFlight<String, String>(Duration.ofSeconds(30));
+
+        flights.execute("key", () -> "first");
+
+        assertThat(flights.execute("key", () -> "second")).isEqualTo("second");
+        assertThat(flights.getExecutions()).isEqualTo(2);
+        assertThat(flights.getCoalesced()).isZero();
+    }
+
+    private ArrayList<Future<String>> submitAll(Callable<String> call) {
+        var results = new ArrayList<Future<String>>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        return results;
+    }
+
+    /**
+     * Retiene la ejecución en curso hasta que todos los demás llamadores están esperándola.
+     */
+    private static void awaitFollowers(SingleFlight<?, ?> flights) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (flights.getCoalesced() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}